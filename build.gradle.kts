@@ -1,6 +1,9 @@
+import org.springframework.boot.gradle.tasks.aot.ProcessAot
+
 plugins {
 	java
 	id("org.springframework.boot") version "3.5.8"
+	id("org.springframework.boot.aot") version "3.5.8"
 	id("io.spring.dependency-management") version "1.1.7"
 	id("org.asciidoctor.jvm.convert") version "4.0.5"
 }
@@ -30,11 +33,20 @@ extra["snippetsDir"] = file("build/generated-snippets")
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-webflux")
+	implementation("org.springframework:spring-r2dbc")
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	implementation("io.micrometer:micrometer-tracing-bridge-otel")
+	implementation("com.github.ben-manes.caffeine:jcache")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.4")
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
 
     runtimeOnly("com.h2database:h2")
+	implementation("io.r2dbc:r2dbc-pool")
+	runtimeOnly("io.r2dbc:r2dbc-h2")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.restdocs:spring-restdocs-mockmvc")
@@ -46,9 +58,67 @@ tasks.withType<Test> {
 }
 
 tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
 	outputs.dir(project.extra["snippetsDir"]!!)
 }
 
+// Benchmarks are opt-in: ./gradlew benchmark -Dbenchmark.<name>=<value>
+tasks.register<Test>("benchmark") {
+	description = "Runs the benchmark-tagged test suites."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	maxHeapSize = "4g"
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("benchmark.") }
+		.mapKeys { it.key.toString() })
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+// The AOT build is processed with the prod profile: profiles and bean conditions are fixed at build time
+tasks.named<ProcessAot>("processAot") {
+	args("--spring.profiles.active=prod")
+}
+
+// Class data sharing: extract the boot jar, then archive the classes loaded by a training run up to context refresh
+val cdsDir = layout.buildDirectory.dir("cds")
+
+tasks.register<Exec>("extractBootJar") {
+	description = "Extracts the boot jar into build/cds, the layout a CDS archive needs."
+	group = "build"
+	dependsOn(tasks.bootJar)
+	inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+	outputs.file(cdsDir.map { it.file("application.jar") })
+	outputs.dir(cdsDir.map { it.dir("lib") })
+	commandLine(
+		javaToolchains.launcherFor(java.toolchain).get().executablePath.asFile.absolutePath,
+		"-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+		"extract", "--destination", cdsDir.get().asFile.absolutePath,
+		"--application-filename", "application.jar", "--force")
+}
+
+tasks.register<Exec>("cdsArchive") {
+	description = "Creates build/cds/application.jsa from a training run of the extracted AOT build."
+	group = "build"
+	dependsOn("extractBootJar")
+	inputs.file(cdsDir.map { it.file("application.jar") })
+	outputs.file(cdsDir.map { it.file("application.jsa") })
+	workingDir(cdsDir.get().asFile)
+	commandLine(
+		javaToolchains.launcherFor(java.toolchain).get().executablePath.asFile.absolutePath,
+		"-XX:ArchiveClassesAtExit=application.jsa",
+		"-Dspring.aot.enabled=true",
+		"-Dspring.context.exit=onRefresh",
+		"-jar", "application.jar",
+		"--spring.profiles.active=prod")
+}
+
 tasks.asciidoctor {
 	inputs.dir(project.extra["snippetsDir"]!!)
 	dependsOn(tasks.test)
@@ -0,0 +1,47 @@
+package com.justlife.cleaning.config;
+
+import com.justlife.cleaning.dto.BookingImportReport;
+import com.justlife.cleaning.service.BookingImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports booking CSV files given as {@code --import-bookings=<path>} on startup,
+ * after {@link DataInitializer} has created the fleet.
+ */
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class BookingImportRunner implements ApplicationRunner {
+
+    private static final String OPTION = "import-bookings";
+
+    private final BookingImportService bookingImportService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        for (String file : args.getOptionValues(OPTION)) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                BookingImportReport report = bookingImportService.importCsv(reader);
+                log.info("{}: {} imported, {} rejected in {} ms", file,
+                        report.getImportedRows(), report.getRejectedRows(), report.getElapsedMillis());
+                for (BookingImportReport.RejectedRow reject : report.getRejects()) {
+                    log.warn("{} line {}: {}", file, reject.getLine(), reject.getReason());
+                }
+            }
+        }
+    }
+}
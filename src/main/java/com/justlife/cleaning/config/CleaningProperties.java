@@ -0,0 +1,200 @@
+package com.justlife.cleaning.config;
+
+import com.justlife.cleaning.entity.Vehicle;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+@Data
+@ConfigurationProperties(prefix = "cleaning")
+public class CleaningProperties {
+
+    private final Schedule schedule = new Schedule();
+    private final AvailabilityStream availabilityStream = new AvailabilityStream();
+    private final Zones zones = new Zones();
+    private final Archive archive = new Archive();
+    private final BookingImport bookingImport = new BookingImport();
+    private final Export export = new Export();
+    private final Capacity capacity = new Capacity();
+    private final Reactive reactive = new Reactive();
+    private final Warmup warmup = new Warmup();
+    private final Tracing tracing = new Tracing();
+    private final SlowRequestLog slowRequestLog = new SlowRequestLog();
+    private final ChangeLog changeLog = new ChangeLog();
+    private final Audit audit = new Audit();
+    private final ReadReplica readReplica = new ReadReplica();
+
+    @Data
+    public static class Schedule {
+        private LocalTime workStart = LocalTime.of(8, 0);
+        private LocalTime workEnd = LocalTime.of(22, 0);
+        // Kept free before and after every booking of a cleaner
+        private int breakMinutes = 30;
+        private List<Integer> durations = List.of(2, 4);
+        private Set<DayOfWeek> closedDays = EnumSet.of(DayOfWeek.FRIDAY);
+        // Working hours of zones that differ from the defaults, keyed by zone code
+        private Map<String, Hours> zoneHours = new HashMap<>();
+        // Holidays, Ramadan hours and the like; later rules win, and an open rule also opens a closed weekday
+        private List<DateRule> dateRules = new ArrayList<>();
+        // Days from startup compiled into the lookup table, other dates are compiled on use
+        private int compiledDays = 400;
+
+        @Data
+        public static class Hours {
+            private LocalTime start;
+            private LocalTime end;
+        }
+
+        @Data
+        public static class DateRule {
+            private LocalDate from;
+            // Inclusive, defaults to from
+            private LocalDate to;
+            // Applies to every zone when empty
+            private String zone;
+            private boolean closed;
+            private String reason;
+            private LocalTime start;
+            private LocalTime end;
+            private List<Integer> durations;
+        }
+    }
+
+    @Data
+    public static class AvailabilityStream {
+        // Deltas queued per subscriber before it is considered too slow and dropped
+        private int subscriberBuffer = 256;
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+        private int dispatchThreads = 2;
+        // A single send blocked longer than this drops the subscriber and frees its dispatcher thread
+        private Duration writeTimeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Zones {
+        private String defaultZone = Vehicle.DEFAULT_ZONE;
+        // Threads used to evaluate zone shards of cross-zone queries in parallel
+        private int shardParallelism = 4;
+
+        public String resolve(String zone) {
+            if (zone == null || zone.isBlank()) {
+                return defaultZone;
+            }
+            return zone.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    @Data
+    public static class Archive {
+        // Days of finished bookings kept in the hot table before archiving
+        private int retentionDays = 7;
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class BookingImport {
+        // Rows validated, conflict-checked and inserted per transaction
+        private int chunkSize = 1000;
+        // Rejects beyond this are counted but not listed in the report
+        private int maxReportedRejects = 1000;
+    }
+
+    @Data
+    public static class Export {
+        // Rows the JDBC driver pulls per round trip while the export cursor advances
+        private int fetchSize = 500;
+    }
+
+    @Data
+    public static class Capacity {
+        private String reconcileCron = "0 0 4 * * *";
+        // Future days rebuilt by the reconciliation job, past days go back to the archive cutoff
+        private int reconcileDaysAhead = 90;
+    }
+
+    @Data
+    public static class Reactive {
+        // Starts the WebFlux availability endpoint on its own port next to the servlet stack
+        private boolean enabled;
+        private int port = 8081;
+        private String r2dbcUrl = "r2dbc:h2:mem:///justlife?options=DB_CLOSE_DELAY=-1;MODE=MySQL";
+        private int maximumPoolSize = 10;
+    }
+
+    @Data
+    public static class Warmup {
+        // Exercise the read paths on startup; readiness only flips once this is done
+        private boolean enabled;
+        private int iterations = 2000;
+        // Synthetic requests cycle through this many days from tomorrow
+        private int days = 14;
+    }
+
+    @Data
+    public static class Tracing {
+        public enum Exporter { NONE, MEMORY, FILE }
+
+        private Exporter exporter = Exporter.NONE;
+        // Spans appended as JSON lines when the exporter is FILE
+        private String file = "traces/spans.ndjson";
+        // Most recent spans kept when the exporter is MEMORY
+        private int memoryCapacity = 10_000;
+    }
+
+    @Data
+    public static class SlowRequestLog {
+        private boolean enabled = true;
+        // Requests at least this slow get one profile line on the cleaning.slow-requests logger
+        private Duration threshold = Duration.ofMillis(500);
+        // Request body bytes kept for the log line
+        private int maxBodyLength = 1024;
+        // JSON body fields that may appear in the log line, at any depth; everything else is dropped so customer data stays out
+        private Set<String> bodyFields = new LinkedHashSet<>(List.of("date", "startTime", "duration", "cleanerCount", "zone"));
+    }
+
+    @Data
+    public static class ChangeLog {
+        // Append booking changes to booking_change and replay those of other nodes sharing the database
+        private boolean enabled = true;
+        private String nodeId = UUID.randomUUID().toString();
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int batchSize = 500;
+        // A missing id older than this belongs to a rolled back transaction and is skipped
+        private Duration gapTimeout = Duration.ofSeconds(10);
+        private Duration retention = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Audit {
+        private boolean enabled = true;
+        // Records waiting for the writer; when full, committing requests wait for space
+        private int queueCapacity = 10_000;
+        private int batchSize = 500;
+        // Longest wait for queue space, after which the committing thread writes its own record
+        private Duration offerTimeout = Duration.ofMillis(100);
+        // Retries of a batch that failed transiently, one second apart, before it is written record by record
+        private int retryAttempts = 30;
+        // Time the writer gets on shutdown to drain the queue
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        private String actorHeader = "X-Client-Id";
+    }
+
+    @Data
+    public static class ReadReplica {
+        private boolean enabled;
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+        // Reads of a client that wrote within this window stay on the primary
+        private Duration lagGuard = Duration.ofSeconds(2);
+        private String clientHeader = "X-Client-Id";
+        // Local testing only: expose the primary tables in an H2 replica as linked tables
+        private boolean linkToPrimary;
+    }
+}
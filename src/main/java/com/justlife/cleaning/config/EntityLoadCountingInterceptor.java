@@ -0,0 +1,22 @@
+package com.justlife.cleaning.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Counts entities Hibernate materializes, from the database or the second-level cache,
+ * for the open {@link RequestProfile}.
+ */
+class EntityLoadCountingInterceptor implements Interceptor, Serializable {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.justlife.cleaning.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Local stand-in for replication: exposes every primary table in the replica H2
+ * instance as a read-only linked table once Hibernate has created the schema.
+ */
+@Slf4j
+public class H2ReplicaLinker {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final String primaryUrl;
+    private final String username;
+    private final String password;
+
+    public H2ReplicaLinker(DataSource primary, DataSource replica, String primaryUrl, String username, String password) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.primaryUrl = primaryUrl;
+        this.username = username;
+        this.password = password == null ? "" : password;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void linkTables() {
+        List<String> tables = primary.queryForList(
+                "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'", String.class);
+        for (String table : tables) {
+            replica.execute("CREATE LINKED TABLE IF NOT EXISTS \"" + table + "\"(" +
+                    "'org.h2.Driver', '" + primaryUrl + "', '" + username + "', '" + password + "', " +
+                    "'PUBLIC', '" + table + "') READONLY");
+        }
+        log.info("Linked {} primary tables into the replica", tables.size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.justlife.cleaning.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times statement execution and counts fetched rows for the open {@link RequestProfile}.
+ * Connections handed out while no profile is open are returned as they are.
+ */
+class ProfilingDataSource extends DelegatingDataSource {
+
+    ProfilingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    private static Connection profiled(Connection connection) {
+        if (RequestProfile.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            // createStatement, prepareStatement and prepareCall declare the interface to proxy
+            return result instanceof Statement statement ? profiled(method.getReturnType(), statement) : result;
+        });
+    }
+
+    private static Object profiled(Class<?> type, Statement statement) {
+        return proxy(type, statement, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? profiled(resultSet) : result;
+            }
+            long began = System.nanoTime();
+            try {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? profiled(resultSet) : result;
+            } finally {
+                RequestProfile profile = RequestProfile.current();
+                if (profile != null) {
+                    profile.statementExecuted(System.nanoTime() - began);
+                }
+            }
+        });
+    }
+
+    private static ResultSet profiled(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+            long began = System.nanoTime();
+            boolean hasRow = resultSet.next();
+            RequestProfile profile = RequestProfile.current();
+            if (profile != null) {
+                profile.rowFetched(System.nanoTime() - began, hasRow);
+            }
+            return hasRow;
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return handler.handle(method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.justlife.cleaning.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.controller.ReactiveAvailabilityHandler;
+import com.justlife.cleaning.repository.ReactiveScheduleReader;
+import com.justlife.cleaning.service.SchedulingPolicy;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpServer;
+
+/**
+ * Runs the reactive availability endpoint on its own Netty port next to the servlet
+ * application, so both stacks serve the same data side by side.
+ * <p>
+ * The R2DBC pool is deliberately not a bean: a ConnectionFactory bean would make the
+ * JDBC DataSource auto-configuration back off and take JPA down with it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cleaning.reactive", name = "enabled", havingValue = "true")
+public class ReactiveAvailabilityServer implements SmartLifecycle {
+
+    private final CleaningProperties properties;
+    private final ObjectMapper objectMapper;
+    private final SchedulingPolicy schedulingPolicy;
+
+    private ConnectionPool connectionPool;
+    private DisposableServer server;
+
+    public ReactiveAvailabilityServer(CleaningProperties properties, ObjectMapper objectMapper,
+                                      SchedulingPolicy schedulingPolicy) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.schedulingPolicy = schedulingPolicy;
+    }
+
+    @Override
+    public void start() {
+        CleaningProperties.Reactive settings = properties.getReactive();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(settings.getR2dbcUrl()))
+                .maxSize(settings.getMaximumPoolSize())
+                .build());
+
+        ReactiveAvailabilityHandler handler = new ReactiveAvailabilityHandler(
+                new ReactiveScheduleReader(DatabaseClient.create(connectionPool)), properties, schedulingPolicy);
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        server = HttpServer.create()
+                .port(settings.getPort())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive availability endpoint listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (connectionPool != null) {
+            connectionPool.dispose();
+            connectionPool = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+}
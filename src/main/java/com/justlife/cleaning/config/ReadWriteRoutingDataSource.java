@@ -0,0 +1,46 @@
+package com.justlife.cleaning.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy, otherwise the connection is fetched
+ * before the transaction's read-only flag is visible here.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard lagGuard;
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+
+    public ReadWriteRoutingDataSource(ReplicaLagGuard lagGuard, MeterRegistry meterRegistry) {
+        this.lagGuard = lagGuard;
+        this.primaryCounter = Counter.builder("cleaning.datasource.routed")
+                .description("Connections handed out per routing target")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaCounter = Counter.builder("cleaning.datasource.routed")
+                .description("Connections handed out per routing target")
+                .tag("target", "replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && !lagGuard.isWithinWindowOfOwnWrite()) {
+            replicaCounter.increment();
+            return Route.REPLICA;
+        }
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            lagGuard.markWrite();
+        }
+        primaryCounter.increment();
+        return Route.PRIMARY;
+    }
+}
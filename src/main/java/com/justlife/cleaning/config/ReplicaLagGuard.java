@@ -0,0 +1,57 @@
+package com.justlife.cleaning.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently so their reads can stay on the primary until
+ * the replica has had time to catch up.
+ */
+public class ReplicaLagGuard {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> currentClientWrote = new ThreadLocal<>();
+
+    public ReplicaLagGuard(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void enter(String clientId) {
+        currentClient.set(clientId);
+        currentClientWrote.remove();
+    }
+
+    public void markWrite() {
+        if (currentClient.get() != null) {
+            currentClientWrote.set(Boolean.TRUE);
+        }
+    }
+
+    // The window starts once the request is done, i.e. after its write transaction committed
+    public void exit() {
+        String clientId = currentClient.get();
+        if (clientId != null && Boolean.TRUE.equals(currentClientWrote.get())) {
+            long now = System.nanoTime();
+            if (lastWriteByClient.size() > PURGE_THRESHOLD) {
+                lastWriteByClient.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+            }
+            lastWriteByClient.put(clientId, now);
+        }
+        currentClient.remove();
+        currentClientWrote.remove();
+    }
+
+    public boolean isWithinWindowOfOwnWrite() {
+        String clientId = currentClient.get();
+        if (clientId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByClient.get(clientId);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+}
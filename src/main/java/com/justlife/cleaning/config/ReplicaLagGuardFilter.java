@@ -0,0 +1,32 @@
+package com.justlife.cleaning.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReplicaLagGuardFilter extends OncePerRequestFilter {
+
+    private final ReplicaLagGuard lagGuard;
+    private final String clientHeader;
+
+    public ReplicaLagGuardFilter(ReplicaLagGuard lagGuard, String clientHeader) {
+        this.lagGuard = lagGuard;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = request.getHeader(clientHeader);
+        lagGuard.enter(clientId != null ? clientId : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            lagGuard.exit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.justlife.cleaning.config;
+
+/**
+ * Counters of one request, filled on the request thread by the JDBC and Hibernate hooks
+ * while {@link SlowRequestLogFilter} has a profile open.
+ */
+final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private long jdbcNanos;
+    private int statements;
+    private long rowsFetched;
+    private int entitiesLoaded;
+
+    static RequestProfile open() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void rowFetched(long nanos, boolean hasRow) {
+        jdbcNanos += nanos;
+        if (hasRow) {
+            rowsFetched++;
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
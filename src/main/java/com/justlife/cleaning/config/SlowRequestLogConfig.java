@@ -0,0 +1,53 @@
+package com.justlife.cleaning.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the request profile: the filter opens it, the application DataSource and a Hibernate
+ * interceptor fill it in.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cleaning.slow-request-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowRequestLogConfig {
+
+    // Only the bean JPA and JdbcTemplate use; the replica setup's pools behind it stay unwrapped
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor profilingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && APPLICATION_DATA_SOURCE.equals(beanName)) {
+                    return new ProfilingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SlowRequestLogFilter> slowRequestLogFilter(CleaningProperties cleaningProperties,
+                                                                             ObjectMapper objectMapper) {
+        FilterRegistrationBean<SlowRequestLogFilter> registration = new FilterRegistrationBean<>(
+                new SlowRequestLogFilter(cleaningProperties.getSlowRequestLog(), objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
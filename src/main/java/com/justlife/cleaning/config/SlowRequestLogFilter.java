@@ -0,0 +1,108 @@
+package com.justlife.cleaning.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes one line to the {@code cleaning.slow-requests} logger for every request slower than
+ * the threshold, with its JDBC, row, entity and allocation profile. Faster requests log nothing.
+ * <p>
+ * Only the configured JSON body fields are logged, so names and other customer data never reach
+ * the log; a body that is not JSON (such as a CSV import) is logged as its size.
+ */
+public class SlowRequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("cleaning.slow-requests");
+
+    private final CleaningProperties.SlowRequestLog settings;
+    private final ObjectMapper objectMapper;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public SlowRequestLogFilter(CleaningProperties.SlowRequestLog settings, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request, settings.getMaxBodyLength());
+        RequestProfile profile = RequestProfile.open();
+        long allocatedBefore = allocatedBytes();
+        long began = System.nanoTime();
+        try {
+            filterChain.doFilter(cachingRequest, response);
+        } finally {
+            long totalMillis = (System.nanoTime() - began) / 1_000_000;
+            long allocated = allocatedBytes() - allocatedBefore;
+            RequestProfile.close();
+            if (totalMillis >= settings.getThreshold().toMillis()) {
+                log.warn("endpoint=\"{} {}\" params=\"{}\" body=\"{}\" status={} totalMs={} jdbcMs={} statements={} rows={} entities={} allocatedBytes={}",
+                        request.getMethod(), request.getRequestURI(),
+                        request.getQueryString() != null ? request.getQueryString() : "",
+                        body(cachingRequest), response.getStatus(), totalMillis,
+                        profile.getJdbcMillis(), profile.getStatements(), profile.getRowsFetched(),
+                        profile.getEntitiesLoaded(), allocated);
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private String body(ContentCachingRequestWrapper request) {
+        byte[] content = request.getContentAsByteArray();
+        if (content.length == 0) {
+            return "";
+        }
+        try {
+            return objectMapper.writeValueAsString(redact(objectMapper.readTree(content))).replace("\"", "'");
+        } catch (IOException e) {
+            // Not JSON, or cut off at maxBodyLength
+            return "[" + content.length + " bytes]";
+        }
+    }
+
+    private JsonNode redact(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            ObjectNode kept = objectMapper.createObjectNode();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = object.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (settings.getBodyFields().contains(field.getKey())) {
+                    kept.set(field.getKey(), field.getValue());
+                } else if (field.getValue().isContainerNode()) {
+                    kept.set(field.getKey(), redact(field.getValue()));
+                }
+            }
+            return kept;
+        }
+        if (node instanceof ArrayNode array) {
+            ArrayNode kept = objectMapper.createArrayNode();
+            array.forEach(element -> {
+                if (element.isContainerNode()) {
+                    kept.add(redact(element));
+                }
+            });
+            return kept;
+        }
+        return objectMapper.nullNode();
+    }
+}
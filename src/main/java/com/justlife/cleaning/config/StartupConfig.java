@@ -0,0 +1,35 @@
+package com.justlife.cleaning.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * With {@code spring.main.lazy-initialization} on (prod profile) only the API documentation and
+ * the H2 console are deferred to their first request; everything else is still created eagerly,
+ * so wiring errors keep failing the startup instead of the first booking.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final List<String> LAZY_PACKAGES = List.of(
+            "org.springdoc.",
+            "io.swagger.",
+            "org.springframework.boot.autoconfigure.h2.");
+
+    private static final String H2_CONSOLE_BEAN = "h2Console";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerExceptDocumentationAndConsole() {
+        return (beanName, beanDefinition, beanType) -> !isLazy(beanName, beanType);
+    }
+
+    private static boolean isLazy(String beanName, Class<?> beanType) {
+        if (H2_CONSOLE_BEAN.equals(beanName)) {
+            return true;
+        }
+        return beanType != null && LAZY_PACKAGES.stream().anyMatch(beanType.getName()::startsWith);
+    }
+}
@@ -0,0 +1,82 @@
+package com.justlife.cleaning.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Spans beyond the HTTP ones Spring MVC already creates: one per repository call, and
+ * the exporter selected by {@code cleaning.tracing.exporter}. Any other SpanExporter bean,
+ * e.g. OTLP, is picked up by Spring Boot alongside it.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(observingInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(), observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor observingInterceptor(String repository, ObjectProvider<ObservationRegistry> observationRegistry) {
+        return invocation -> {
+            ObservationRegistry registry = observationRegistry.getIfAvailable();
+            // Only as part of a traced request or phase, background polls would each start a trace
+            if (registry == null || registry.getCurrentObservation() == null) {
+                return invocation.proceed();
+            }
+            String method = invocation.getMethod().getName();
+            Observation observation = Observation.createNotStarted("repository.query", registry)
+                    .contextualName(repository + "." + method)
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method);
+            return observation.observeChecked(() -> {
+                Object result = invocation.proceed();
+                observation.highCardinalityKeyValue("rows", String.valueOf(rowCount(result)));
+                return result;
+            });
+        };
+    }
+
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cleaning.tracing", name = "exporter", havingValue = "memory")
+    public InMemorySpanExporter inMemorySpanExporter(CleaningProperties properties) {
+        return new InMemorySpanExporter(properties.getTracing().getMemoryCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cleaning.tracing", name = "exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(CleaningProperties properties) throws IOException {
+        return new FileSpanExporter(Path.of(properties.getTracing().getFile()));
+    }
+}
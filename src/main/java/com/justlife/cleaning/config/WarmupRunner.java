@@ -0,0 +1,129 @@
+package com.justlife.cleaning.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.dto.AvailabilityCandidate;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.BatchAvailabilityRequest;
+import com.justlife.cleaning.service.BookingService;
+import com.justlife.cleaning.service.DayPolicy;
+import com.justlife.cleaning.service.SchedulingPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs synthetic availability requests through deserialization, the {@link BookingService}
+ * read paths and serialization so they are JIT-compiled before real traffic arrives.
+ * <p>
+ * Runners complete before Spring Boot publishes {@code ACCEPTING_TRAFFIC}, so the readiness
+ * probe only turns up once the warm-up is done. Every iteration runs in a rolled-back
+ * transaction and leaves no trace in the database.
+ */
+@Slf4j
+@Component
+@Order(2)
+public class WarmupRunner implements ApplicationRunner {
+
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final CleaningProperties properties;
+    private final SchedulingPolicy schedulingPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer warmupTimer;
+
+    public WarmupRunner(BookingService bookingService, ObjectMapper objectMapper, CleaningProperties properties,
+                        SchedulingPolicy schedulingPolicy, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.schedulingPolicy = schedulingPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.warmupTimer = Timer.builder("cleaning.warmup")
+                .description("Time spent warming up the read paths before accepting traffic")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CleaningProperties.Warmup settings = properties.getWarmup();
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        long began = System.nanoTime();
+        for (int i = 0; i < settings.getIterations(); i++) {
+            // Start times and durations come from the compiled calendar, so every request passes validation
+            DayPolicy day = workingDay(LocalDate.now().plusDays(1 + i % settings.getDays()));
+            DayPolicy.Slot slot = day.slots().get(i % day.slots().size());
+            LocalDate date = day.date();
+            LocalTime startTime = slot.start().toLocalTime();
+            int duration = slot.durationHours();
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    exercise(date, startTime, duration);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Warm-up request failed", e);
+                }
+                status.setRollbackOnly();
+            });
+        }
+        long elapsed = System.nanoTime() - began;
+        warmupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up of {} iterations finished in {} ms", settings.getIterations(), elapsed / 1_000_000);
+    }
+
+    // Each call goes through the same JSON round trip as the controller
+    private void exercise(LocalDate date, LocalTime startTime, int duration) throws Exception {
+        AvailabilityRequest dayRequest = roundTrip(AvailabilityRequest.builder().date(date).build(), AvailabilityRequest.class);
+        objectMapper.writeValueAsBytes(bookingService.checkAvailability(dayRequest));
+
+        AvailabilityRequest slotRequest = roundTrip(AvailabilityRequest.builder()
+                .date(date)
+                .startTime(startTime)
+                .duration(duration)
+                .build(), AvailabilityRequest.class);
+        objectMapper.writeValueAsBytes(bookingService.checkAvailability(slotRequest));
+
+        AvailabilityRequest teamRequest = roundTrip(AvailabilityRequest.builder()
+                .date(date)
+                .duration(duration)
+                .cleanerCount(2)
+                .build(), AvailabilityRequest.class);
+        objectMapper.writeValueAsBytes(bookingService.checkTeamAvailability(teamRequest));
+
+        BatchAvailabilityRequest batchRequest = roundTrip(BatchAvailabilityRequest.builder()
+                .candidates(List.of(
+                        AvailabilityCandidate.builder().date(date).startTime(startTime).duration(duration).cleanerCount(1).build(),
+                        AvailabilityCandidate.builder().date(date).startTime(startTime).duration(duration).cleanerCount(3).build()))
+                .build(), BatchAvailabilityRequest.class);
+        objectMapper.writeValueAsBytes(bookingService.checkCandidates(batchRequest));
+    }
+
+    private <T> T roundTrip(T request, Class<T> type) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(request), type);
+    }
+
+    // Synthetic requests carry no zone, so they follow the default zone's calendar
+    private DayPolicy workingDay(LocalDate date) {
+        String zone = properties.getZones().resolve(null);
+        DayPolicy day = schedulingPolicy.day(zone, date);
+        while (day.slots().isEmpty()) {
+            date = date.plusDays(1);
+            day = schedulingPolicy.day(zone, date);
+        }
+        return day;
+    }
+}
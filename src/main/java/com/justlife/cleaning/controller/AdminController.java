@@ -0,0 +1,59 @@
+package com.justlife.cleaning.controller;
+
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.CacheRegionStatisticsDto;
+import com.justlife.cleaning.dto.CleanerAvailabilityDto;
+import com.justlife.cleaning.dto.HeatmapCellDto;
+import com.justlife.cleaning.service.CacheStatisticsService;
+import com.justlife.cleaning.service.CapacityHeatmapService;
+import com.justlife.cleaning.service.CrossZoneAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational APIs")
+public class AdminController {
+
+    private final CrossZoneAvailabilityService crossZoneAvailabilityService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final CapacityHeatmapService capacityHeatmapService;
+
+    @PostMapping("/availability")
+    @Operation(summary = "Check availability in all zones", description = "Get available cleaners per zone, zones are evaluated in parallel")
+    public Map<String, List<CleanerAvailabilityDto>> checkAvailabilityAllZones(@RequestBody AvailabilityRequest request) {
+        return crossZoneAvailabilityService.checkAvailabilityAllZones(request);
+    }
+
+    @GetMapping("/cache-statistics")
+    @Operation(summary = "Second-level cache statistics", description = "Hit, miss and put counts with hit ratio per cache region")
+    public List<CacheRegionStatisticsDto> getCacheStatistics() {
+        return cacheStatisticsService.getSecondLevelCacheStatistics();
+    }
+
+    @GetMapping("/heatmap")
+    @Operation(summary = "Capacity heatmap", description = "Booked cleaner-hours per day, 30 minute cell and vehicle, both dates inclusive; empty cells are omitted")
+    public List<HeatmapCellDto> getHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long vehicleId) {
+        return capacityHeatmapService.getHeatmap(from, to, vehicleId);
+    }
+
+    @PostMapping("/heatmap/reconcile")
+    @Operation(summary = "Reconcile heatmap", description = "Rebuild the capacity counters of a date range from the booking table, returns the number of corrected counters; the range must lie between the archive cutoff and the reconcile horizon")
+    public int reconcileHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return capacityHeatmapService.reconcile(from, to);
+    }
+}
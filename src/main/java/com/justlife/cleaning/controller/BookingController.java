@@ -1,14 +1,33 @@
 package com.justlife.cleaning.controller;
 
 import com.justlife.cleaning.dto.*;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.service.AvailabilityStreamService;
+import com.justlife.cleaning.service.AvailabilityVersionTracker;
+import com.justlife.cleaning.service.BookingExportService;
+import com.justlife.cleaning.service.BookingImportService;
+import com.justlife.cleaning.service.BookingQueryService;
 import com.justlife.cleaning.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 
@@ -19,6 +38,11 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final AvailabilityStreamService availabilityStreamService;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final BookingImportService bookingImportService;
+    private final BookingExportService bookingExportService;
+    private final BookingQueryService bookingQueryService;
 
     @PostMapping("/availability")
     @Operation(summary = "Check availability", description = "Get available cleaners for date/time")
@@ -26,6 +50,49 @@ public class BookingController {
         return bookingService.checkAvailability(request);
     }
 
+    @GetMapping("/availability")
+    @Operation(summary = "Get availability", description = "Cacheable variant of check availability, supports If-None-Match per zone and date")
+    public ResponseEntity<List<CleanerAvailabilityDto>> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) String zone,
+            WebRequest webRequest) {
+        String etag = availabilityVersionTracker.etagFor(zone, date);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        AvailabilityRequest request = AvailabilityRequest.builder()
+                .date(date)
+                .startTime(startTime)
+                .duration(duration)
+                .zone(zone)
+                .build();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(bookingService.checkAvailability(request));
+    }
+
+    @PostMapping("/availability/teams")
+    @Operation(summary = "Check team availability", description = "Per vehicle, the start times at which cleanerCount of its cleaners are free at once")
+    public List<VehicleAvailabilityDto> checkTeamAvailability(@Valid @RequestBody AvailabilityRequest request) {
+        return bookingService.checkTeamAvailability(request);
+    }
+
+    @PostMapping("/availability/batch")
+    @Operation(summary = "Check candidate slots", description = "One feasibility answer per candidate (date, start, duration, cleaner count), in request order")
+    public List<CandidateAvailabilityDto> checkCandidates(@Valid @RequestBody BatchAvailabilityRequest request) {
+        return bookingService.checkCandidates(request);
+    }
+
+    @GetMapping(path = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream availability changes", description = "Server-sent events with per-cleaner cell deltas for every committed create or update")
+    public SseEmitter streamAvailability() {
+        return availabilityStreamService.subscribe();
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create Booking", description = "Create a new cleaning appointment")
@@ -33,10 +100,62 @@ public class BookingController {
         return bookingService.createBooking(request);
     }
 
+    @PostMapping("/series")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Create Booking Series", description = "Book the same slot daily or weekly with one team, skipping closed dates")
+    public BookingSeriesResponse createSeries(@Valid @RequestBody BookingSeriesRequest request) {
+        return bookingService.createSeries(request);
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    @Operation(summary = "Import Bookings", description = "Stream a CSV of legacy bookings in; rows are validated and conflict-checked like single bookings")
+    public BookingImportReport importBookings(InputStream body) throws IOException {
+        return bookingImportService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export Bookings", description = "Stream the bookings of a date range, both dates inclusive, as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") BookingExportService.Format format) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("'to' must not be before 'from'.");
+        }
+        MediaType contentType = format == BookingExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(out -> bookingExportService.exportBookings(from, to, format, out));
+    }
+
+    @GetMapping
+    @Operation(summary = "List Bookings", description = "Bookings starting in a date range, both dates inclusive, ordered by start time and paged by cursor")
+    public BookingPageDto listBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return bookingQueryService.listBookings(from, to, cursor, size);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get Booking", description = "Get a booking by id, including archived past bookings")
+    public BookingResponse getBooking(@PathVariable Long id) {
+        return bookingService.getBooking(id);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update Booking", description = "Update date/time of an existing booking")
     public BookingResponse updateBooking(@PathVariable Long id, @Valid @RequestBody BookingUpdateRequest request) {
         return bookingService.updateBooking(id, request);
     }
 
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel Booking", description = "Mark a booking cancelled; its cleaners are free again for that slot")
+    public BookingResponse cancelBooking(@PathVariable Long id) {
+        return bookingService.cancelBooking(id);
+    }
+
 }
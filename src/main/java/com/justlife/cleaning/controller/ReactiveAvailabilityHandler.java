@@ -0,0 +1,70 @@
+package com.justlife.cleaning.controller;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.CleanerAvailabilityDto;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.readmodel.CleanerSchedule;
+import com.justlife.cleaning.repository.ReactiveScheduleReader;
+import com.justlife.cleaning.service.AvailabilityCalculator;
+import com.justlife.cleaning.service.DayPolicy;
+import com.justlife.cleaning.service.SchedulingPolicy;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux variant of {@code POST /api/bookings/availability}: same request, response and
+ * errors as the MVC endpoint, without holding a thread while the queries run.
+ */
+public class ReactiveAvailabilityHandler {
+
+    private final ReactiveScheduleReader scheduleReader;
+    private final CleaningProperties properties;
+    private final SchedulingPolicy schedulingPolicy;
+
+    public ReactiveAvailabilityHandler(ReactiveScheduleReader scheduleReader, CleaningProperties properties,
+                                       SchedulingPolicy schedulingPolicy) {
+        this.scheduleReader = scheduleReader;
+        this.properties = properties;
+        this.schedulingPolicy = schedulingPolicy;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(RequestPredicates.POST("/api/bookings/availability"), this::checkAvailability);
+    }
+
+    private Mono<ServerResponse> checkAvailability(ServerRequest request) {
+        return request.bodyToMono(AvailabilityRequest.class)
+                .flatMap(this::evaluate)
+                .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(result))
+                .onErrorResume(BusinessException.class, e -> ServerResponse.badRequest()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("error", e.getMessage())));
+    }
+
+    private Mono<List<CleanerAvailabilityDto>> evaluate(AvailabilityRequest request) {
+        LocalDate date = request.getDate();
+        String zone = properties.getZones().resolve(request.getZone());
+        DayPolicy day = schedulingPolicy.validate(zone, date, request.getStartTime(), request.getDuration());
+
+        // Both queries only depend on the zone and date, so they run concurrently
+        return Mono.zip(
+                        scheduleReader.findRosterByZone(zone).collectList(),
+                        scheduleReader.findActiveBookingsInZone(zone, date.atStartOfDay(), date.atTime(LocalTime.MAX)).collectList())
+                .map(loaded -> loaded.getT1().isEmpty()
+                        ? Collections.<CleanerAvailabilityDto>emptyList()
+                        : AvailabilityCalculator.evaluate(
+                                loaded.getT1(), CleanerSchedule.forRoster(loaded.getT1(), loaded.getT2()), request, day));
+    }
+}
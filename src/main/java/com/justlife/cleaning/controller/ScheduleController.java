@@ -0,0 +1,37 @@
+package com.justlife.cleaning.controller;
+
+import com.justlife.cleaning.dto.CleanerScheduleDto;
+import com.justlife.cleaning.dto.VehicleScheduleDto;
+import com.justlife.cleaning.service.BookingQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/schedules")
+@RequiredArgsConstructor
+@Tag(name = "Schedule", description = "Day schedules of cleaners and vehicles")
+public class ScheduleController {
+
+    private final BookingQueryService bookingQueryService;
+
+    @GetMapping("/cleaners/{cleanerId}")
+    @Operation(summary = "Cleaner schedule", description = "Bookings of one cleaner on one day")
+    public CleanerScheduleDto getCleanerSchedule(
+            @PathVariable Long cleanerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return bookingQueryService.getCleanerSchedule(cleanerId, date);
+    }
+
+    @GetMapping("/vehicles/{vehicleId}")
+    @Operation(summary = "Vehicle schedule", description = "Bookings of every cleaner of one vehicle on one day")
+    public VehicleScheduleDto getVehicleSchedule(
+            @PathVariable Long vehicleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return bookingQueryService.getVehicleSchedule(vehicleId, date);
+    }
+}
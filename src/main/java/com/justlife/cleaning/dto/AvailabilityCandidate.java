@@ -0,0 +1,38 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One candidate slot of a batch availability check")
+public class AvailabilityCandidate {
+
+    @NotNull(message = "Date is required")
+    @Schema(description = "Candidate date", example = "2023-11-23", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDate date;
+
+    @NotNull(message = "Start time is required")
+    @Schema(description = "Candidate start time", example = "10:00", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalTime startTime;
+
+    @NotNull(message = "Duration is required")
+    @Schema(description = "Duration in hours (must be 2 or 4)", example = "2", allowableValues = {"2", "4"}, requiredMode = Schema.RequiredMode.REQUIRED)
+    private Integer duration;
+
+    @Min(value = 1, message = "Minimum 1 cleaner required")
+    @Max(value = 3, message = "Maximum 3 cleaners allowed")
+    @Schema(description = "Number of cleaners required (1-3)", example = "2", minimum = "1", maximum = "3")
+    private int cleanerCount;
+}
@@ -0,0 +1,34 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change of a cleaner's booked 30 minute cells on one date")
+public class AvailabilityDeltaDto {
+
+    @Schema(description = "Monotonic sequence number, a gap means deltas were missed and the client should resync", example = "42")
+    private long sequence;
+
+    @Schema(description = "Cleaner ID", example = "1")
+    private Long cleanerId;
+
+    @Schema(description = "Affected date", example = "2023-11-23")
+    private LocalDate date;
+
+    @Schema(description = "Start times of cells that became free", example = "[\"10:00\", \"10:30\"]")
+    private List<LocalTime> freedCells;
+
+    @Schema(description = "Start times of cells that became booked", example = "[\"14:00\", \"14:30\"]")
+    private List<LocalTime> takenCells;
+}
@@ -1,6 +1,8 @@
 package com.justlife.cleaning.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +26,12 @@ public class AvailabilityRequest {
     
     @Schema(description = "Duration in hours (optional - if not provided, returns all available slots)", example = "2", allowableValues = {"2", "4"})
     private Integer duration;
+
+    @Min(value = 1, message = "Minimum 1 cleaner required")
+    @Max(value = 3, message = "Maximum 3 cleaners allowed")
+    @Schema(description = "Team size for the per-vehicle availability (optional - defaults to 1)", example = "2", minimum = "1", maximum = "3")
+    private Integer cleanerCount;
+
+    @Schema(description = "Service zone (optional - defaults to the configured default zone)", example = "DXB")
+    private String zone;
 }
@@ -0,0 +1,29 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to check several candidate slots at once")
+public class BatchAvailabilityRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one candidate is required")
+    @Size(max = 100, message = "Maximum 100 candidates allowed")
+    @Schema(description = "Candidate slots, answered in the same order", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<AvailabilityCandidate> candidates;
+
+    @Schema(description = "Service zone (optional - defaults to the configured default zone)", example = "DXB")
+    private String zone;
+}
@@ -0,0 +1,49 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk booking import")
+public class BookingImportReport {
+
+    @Schema(description = "Data rows read, the header excluded", example = "250000")
+    private long totalRows;
+
+    @Schema(description = "Rows stored as bookings", example = "249870")
+    private long importedRows;
+
+    @Schema(description = "Rows rejected by validation or conflicts", example = "130")
+    private long rejectedRows;
+
+    @Schema(description = "Wall time of the import in milliseconds", example = "41250")
+    private long elapsedMillis;
+
+    @Schema(description = "Rows processed per second", example = "6060.6")
+    private double rowsPerSecond;
+
+    @Schema(description = "Rejected rows with the reason, capped at the configured maximum")
+    private List<RejectedRow> rejects;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A rejected import row")
+    public static class RejectedRow {
+
+        @Schema(description = "Line number in the source file, the header is line 1", example = "42")
+        private long line;
+
+        @Schema(description = "Why the row was rejected", example = "We do not work on Fridays.")
+        private String reason;
+    }
+}
@@ -0,0 +1,23 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of bookings ordered by start time")
+public class BookingPageDto {
+
+    @Schema(description = "Bookings of this page")
+    private List<BookingResponse> items;
+
+    @Schema(description = "Opaque cursor of the next page, absent on the last page", example = "MjAyNC0wMS0wMVQxMDowMHwxMjM")
+    private String nextCursor;
+}
@@ -42,4 +42,7 @@ public class BookingRequest {
 
     @Schema(description = "Customer phone number (optional)", example = "+1234567890")
     private String customerPhone;
+
+    @Schema(description = "Service zone (optional - defaults to the configured default zone)", example = "DXB")
+    private String zone;
 }
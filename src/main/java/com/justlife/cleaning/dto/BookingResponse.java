@@ -1,5 +1,6 @@
 package com.justlife.cleaning.dto;
 
+import com.justlife.cleaning.entity.BookingStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,4 +34,7 @@ public class BookingResponse {
     
     @Schema(description = "Customer name", example = "John Doe")
     private String customerName;
+
+    @Schema(description = "Booking status, cancelled bookings no longer hold their cleaners", example = "ACTIVE")
+    private BookingStatus status;
 }
@@ -0,0 +1,24 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bookings created for a recurring series")
+public class BookingSeriesResponse {
+
+    @Schema(description = "One booking per occurrence, all with the same team")
+    private List<BookingResponse> bookings;
+
+    @Schema(description = "Closed dates that fell into the series and were skipped", example = "[\"2023-11-24\"]")
+    private List<LocalDate> skippedDates;
+}
@@ -24,4 +24,7 @@ public class BookingUpdateRequest {
     @NotNull(message = "Start time is required")
     @Schema(description = "New start time (between 08:00 and 22:00)", example = "14:00", requiredMode = Schema.RequiredMode.REQUIRED)
     private LocalTime startTime;
+
+    @Schema(description = "Move the booking to another team of the same size when the current team is busy at the new time", example = "false", defaultValue = "false")
+    private boolean allowReassignment;
 }
@@ -0,0 +1,30 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Second-level cache statistics of one cache region")
+public class CacheRegionStatisticsDto {
+
+    @Schema(description = "Region name", example = "com.justlife.cleaning.entity.Cleaner")
+    private String region;
+
+    @Schema(description = "Cache hits since startup", example = "1200")
+    private long hits;
+
+    @Schema(description = "Cache misses since startup", example = "25")
+    private long misses;
+
+    @Schema(description = "Entries put into the cache since startup", example = "25")
+    private long puts;
+
+    @Schema(description = "Hits divided by lookups, 0 when there were no lookups", example = "0.98")
+    private double hitRatio;
+}
@@ -0,0 +1,39 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Feasibility of one candidate slot")
+public class CandidateAvailabilityDto {
+
+    @Schema(description = "Candidate date", example = "2023-11-23")
+    private LocalDate date;
+
+    @Schema(description = "Candidate start time", example = "10:00")
+    private LocalTime startTime;
+
+    @Schema(description = "Duration in hours", example = "2")
+    private Integer duration;
+
+    @Schema(description = "Number of cleaners required", example = "2")
+    private int cleanerCount;
+
+    @Schema(description = "Whether a booking for this candidate would currently succeed", example = "true")
+    private boolean available;
+
+    @Schema(description = "Vehicle that would serve the booking, when available", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Why the candidate is not bookable, when unavailable", example = "We do not work on Fridays.")
+    private String reason;
+}
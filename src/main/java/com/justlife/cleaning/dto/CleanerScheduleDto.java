@@ -0,0 +1,33 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bookings of one cleaner on one day")
+public class CleanerScheduleDto {
+
+    @Schema(description = "Cleaner ID", example = "1")
+    private Long cleanerId;
+
+    @Schema(description = "Cleaner name", example = "John Doe")
+    private String name;
+
+    @Schema(description = "Vehicle ID assigned to the cleaner", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Day of the schedule", example = "2023-11-23")
+    private LocalDate date;
+
+    @Schema(description = "Bookings overlapping the day, ordered by start time")
+    private List<ScheduledBookingDto> bookings;
+}
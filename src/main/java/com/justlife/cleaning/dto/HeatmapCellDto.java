@@ -0,0 +1,30 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Booked cleaner-hours of one vehicle in one 30 minute cell")
+public class HeatmapCellDto {
+
+    @Schema(description = "Day of the cell", example = "2023-11-23")
+    private LocalDate date;
+
+    @Schema(description = "Start time of the cell", example = "10:30")
+    private LocalTime cellStart;
+
+    @Schema(description = "Vehicle ID", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Booked cleaner-hours in the cell, half an hour per booked cleaner", example = "1.0")
+    private double bookedCleanerHours;
+}
@@ -0,0 +1,29 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A booking on a cleaner's schedule")
+public class ScheduledBookingDto {
+
+    @Schema(description = "Booking ID", example = "1")
+    private Long bookingId;
+
+    @Schema(description = "Booking start date and time", example = "2023-11-23T10:00:00")
+    private LocalDateTime startDateTime;
+
+    @Schema(description = "Booking end date and time", example = "2023-11-23T12:00:00")
+    private LocalDateTime endDateTime;
+
+    @Schema(description = "Customer name", example = "John Doe")
+    private String customerName;
+}
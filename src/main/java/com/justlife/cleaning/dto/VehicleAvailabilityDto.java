@@ -0,0 +1,26 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Start times at which one vehicle can field the requested team")
+public class VehicleAvailabilityDto {
+
+    @Schema(description = "Vehicle ID", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Team size the start times were computed for", example = "2")
+    private int cleanerCount;
+
+    @Schema(description = "Start times with enough cleaners of this vehicle free at once", example = "[\"08:00 (2h)\", \"08:00 (4h)\", \"08:30 (2h)\"]")
+    private List<String> availableTimeSlots;
+}
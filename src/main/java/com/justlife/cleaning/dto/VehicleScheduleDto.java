@@ -0,0 +1,27 @@
+package com.justlife.cleaning.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Schedules of all cleaners of one vehicle on one day")
+public class VehicleScheduleDto {
+
+    @Schema(description = "Vehicle ID", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Day of the schedule", example = "2023-11-23")
+    private LocalDate date;
+
+    @Schema(description = "One schedule per cleaner of the vehicle, ordered by cleaner id")
+    private List<CleanerScheduleDto> cleaners;
+}
@@ -0,0 +1,62 @@
+package com.justlife.cleaning.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "booking_archive", indexes = {
+    @Index(name = "idx_booking_archive_datetime_range", columnList = "startDateTime,endDateTime")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedBooking {
+
+    // Keeps the id the booking had while it was active
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime startDateTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endDateTime;
+
+    @Column(nullable = false)
+    private Integer durationHours;
+
+    @Column(nullable = false)
+    private String zone;
+
+    @Column(nullable = false)
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private BookingStatus status = BookingStatus.ACTIVE;
+
+    // Vehicle the booking's team came from, as stored on the active booking
+    private Long vehicleId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(
+            name = "booking_archive_cleaner",
+            joinColumns = @JoinColumn(name = "booking_id"),
+            indexes = {
+                @Index(name = "idx_booking_archive_cleaner_booking_id", columnList = "booking_id")
+            }
+    )
+    @Column(name = "cleaner_id")
+    @Builder.Default
+    private List<Long> cleanerIds = new ArrayList<>();
+
+}
@@ -11,7 +11,9 @@ import java.util.List;
 @Table(indexes = {
     @Index(name = "idx_booking_start_datetime", columnList = "startDateTime"),
     @Index(name = "idx_booking_end_datetime", columnList = "endDateTime"),
-    @Index(name = "idx_booking_datetime_range", columnList = "startDateTime,endDateTime")
+    @Index(name = "idx_booking_datetime_range", columnList = "startDateTime,endDateTime"),
+    // Status right after zone: conflict and availability lookups skip cancelled rows inside the index range
+    @Index(name = "idx_booking_zone_status_datetime_range", columnList = "zone,status,startDateTime,endDateTime")
 })
 @Data
 @NoArgsConstructor
@@ -20,7 +22,9 @@ import java.util.List;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids with a pooled allocation keep JDBC insert batching possible for bulk imports
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,6 +36,20 @@ public class Booking {
     @Column(nullable = false)
     private Integer durationHours;
 
+    // Copied from the serving vehicle so booking lookups stay inside one zone partition
+    @Column(nullable = false)
+    @Builder.Default
+    private String zone = Vehicle.DEFAULT_ZONE;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private BookingStatus status = BookingStatus.ACTIVE;
+
+    // Vehicle of the team, recorded when the team is chosen so capacity counters stay with it even if
+    // a cleaner later moves to another vehicle; null on bookings stored before it was recorded
+    private Long vehicleId;
+
     @ManyToMany
     @JoinTable(
             name = "booking_cleaner",
@@ -43,6 +61,8 @@ public class Booking {
             }
     )
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Cleaner> cleaners = new ArrayList<>();
 
 
@@ -0,0 +1,56 @@
+package com.justlife.cleaning.entity;
+
+import com.justlife.cleaning.event.BookingChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Compliance record of one committed booking change: who made it, the booking's new
+ * interval and team, and the ones it replaced. Written in batches after commit, never
+ * in the booking transaction.
+ */
+@Entity
+@Table(name = "booking_audit", indexes = {
+    @Index(name = "idx_booking_audit_booking", columnList = "bookingId"),
+    @Index(name = "idx_booking_audit_changed_at", columnList = "changedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_audit_seq")
+    @SequenceGenerator(name = "booking_audit_seq", sequenceName = "booking_audit_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BookingChangedEvent.Type type;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false, length = 128)
+    private String actor;
+
+    // Semicolon separated, like the cleanerIds column of the CSV import
+    private String cleanerIds;
+
+    private String previousCleanerIds;
+
+    private LocalDateTime startDateTime;
+
+    private LocalDateTime endDateTime;
+
+    private LocalDateTime previousStartDateTime;
+
+    private LocalDateTime previousEndDateTime;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,57 @@
+package com.justlife.cleaning.entity;
+
+import com.justlife.cleaning.event.BookingChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * One committed booking change, appended in the booking transaction and tailed by every
+ * node to invalidate its in-process state. Ids come from a sequence without pooling,
+ * so they follow allocation order across nodes.
+ */
+@Entity
+@Table(name = "booking_change", indexes = {
+    @Index(name = "idx_booking_change_changed_at", columnList = "changedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_change_seq")
+    @SequenceGenerator(name = "booking_change_seq", sequenceName = "booking_change_seq", allocationSize = 1)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BookingChangedEvent.Type type;
+
+    // Null on IMPORTED rows, which stand for a whole zone and day
+    private Long bookingId;
+
+    @Column(nullable = false, length = 64)
+    private String originNode;
+
+    private String zone;
+
+    // Semicolon separated, like the cleanerIds column of the CSV import
+    private String cleanerIds;
+
+    private String previousCleanerIds;
+
+    private LocalDateTime startDateTime;
+
+    private LocalDateTime endDateTime;
+
+    private LocalDateTime previousStartDateTime;
+
+    private LocalDateTime previousEndDateTime;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,7 @@
+package com.justlife.cleaning.entity;
+
+public enum BookingStatus {
+    ACTIVE,
+    // Kept for history, ignored by every conflict and availability query
+    CANCELLED
+}
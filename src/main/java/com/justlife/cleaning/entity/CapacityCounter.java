@@ -0,0 +1,25 @@
+package com.justlife.cleaning.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Booked cleaners of one vehicle in one 30 minute cell, maintained incrementally with
+ * every booking change and corrected by the reconciliation job.
+ */
+@Entity
+@Table(name = "capacity_counter", indexes = {
+    @Index(name = "idx_capacity_counter_vehicle_date", columnList = "vehicleId,bookingDate")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CapacityCounter {
+
+    @EmbeddedId
+    private CapacityCounterKey id;
+
+    @Column(nullable = false)
+    private Integer bookedCleanerCells;
+}
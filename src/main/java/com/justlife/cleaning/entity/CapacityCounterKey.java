@@ -0,0 +1,23 @@
+package com.justlife.cleaning.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityCounterKey implements Serializable {
+
+    private LocalDate bookingDate;
+
+    // Index of the 30 minute cell inside the day, 0 is midnight
+    private Integer cellIndex;
+
+    private Long vehicleId;
+}
@@ -2,16 +2,26 @@ package com.justlife.cleaning.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_vehicle_zone", columnList = "zone")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Vehicle {
 
+    public static final String DEFAULT_ZONE = "DXB";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,7 +29,14 @@ public class Vehicle {
     @Column(nullable = false, unique = true)
     private String licencePlate;
 
+    @Column(nullable = false)
+    @Builder.Default
+    private String zone = DEFAULT_ZONE;
+
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Cleaner> cleaners = new ArrayList<>();
 }
@@ -0,0 +1,87 @@
+package com.justlife.cleaning.event;
+
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.Cleaner;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published inside the booking transaction; listeners that expose state to other
+ * requests should react only after commit.
+ */
+@Value
+@Builder
+public class BookingChangedEvent {
+
+    // IMPORTED only appears in booking_change, as one row per imported zone and day
+    public enum Type { CREATED, RESCHEDULED, CANCELLED, IMPORTED }
+
+    Type type;
+    Long bookingId;
+    String zone;
+    List<Long> cleanerIds;
+    // Vehicle serving the booking before and after the change, null for bookings stored without one
+    Long vehicleId;
+    Long previousVehicleId;
+    // Team before a reschedule, differs from cleanerIds when the booking was reassigned
+    List<Long> previousCleanerIds;
+    LocalDateTime previousStart;
+    LocalDateTime previousEnd;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static BookingChangedEvent created(Booking booking) {
+        return BookingChangedEvent.builder()
+                .type(Type.CREATED)
+                .bookingId(booking.getId())
+                .zone(booking.getZone())
+                .cleanerIds(cleanerIdsOf(booking))
+                .vehicleId(booking.getVehicleId())
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .build();
+    }
+
+    public static BookingChangedEvent rescheduled(Booking booking, LocalDateTime previousStart, LocalDateTime previousEnd) {
+        return rescheduled(booking, previousStart, previousEnd, cleanerIdsOf(booking), booking.getVehicleId());
+    }
+
+    public static BookingChangedEvent rescheduled(Booking booking, LocalDateTime previousStart, LocalDateTime previousEnd,
+                                                  List<Long> previousCleanerIds, Long previousVehicleId) {
+        return BookingChangedEvent.builder()
+                .type(Type.RESCHEDULED)
+                .bookingId(booking.getId())
+                .zone(booking.getZone())
+                .cleanerIds(cleanerIdsOf(booking))
+                .previousCleanerIds(previousCleanerIds)
+                .vehicleId(booking.getVehicleId())
+                .previousVehicleId(previousVehicleId)
+                .previousStart(previousStart)
+                .previousEnd(previousEnd)
+                .start(booking.getStartDateTime())
+                .end(booking.getEndDateTime())
+                .build();
+    }
+
+    // No new interval: listeners free the previous cells of the whole team and take none
+    public static BookingChangedEvent cancelled(Booking booking) {
+        List<Long> cleanerIds = cleanerIdsOf(booking);
+        return BookingChangedEvent.builder()
+                .type(Type.CANCELLED)
+                .bookingId(booking.getId())
+                .zone(booking.getZone())
+                .cleanerIds(cleanerIds)
+                .previousCleanerIds(cleanerIds)
+                .previousVehicleId(booking.getVehicleId())
+                .previousStart(booking.getStartDateTime())
+                .previousEnd(booking.getEndDateTime())
+                .build();
+    }
+
+    private static List<Long> cleanerIdsOf(Booking booking) {
+        return booking.getCleaners().stream().map(Cleaner::getId).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.justlife.cleaning.event;
+
+import com.justlife.cleaning.entity.Booking;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published once per zone and day of an import chunk instead of one
+ * {@link BookingChangedEvent} per row, so listeners apply the whole day in one go.
+ * Like the single booking event it is published inside the chunk transaction.
+ */
+@Value
+@Builder
+public class BookingsImportedEvent {
+
+    String zone;
+    LocalDate date;
+    List<BookingChangedEvent> bookings;
+
+    public static BookingsImportedEvent of(String zone, LocalDate date, List<Booking> bookings) {
+        return BookingsImportedEvent.builder()
+                .zone(zone)
+                .date(date)
+                .bookings(bookings.stream().map(BookingChangedEvent::created).toList())
+                .build();
+    }
+}
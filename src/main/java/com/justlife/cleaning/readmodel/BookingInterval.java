@@ -0,0 +1,9 @@
+package com.justlife.cleaning.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booking as seen by one of its cleaners; a booking with three cleaners yields three rows.
+ */
+public record BookingInterval(Long bookingId, Long cleanerId, LocalDateTime start, LocalDateTime end) {
+}
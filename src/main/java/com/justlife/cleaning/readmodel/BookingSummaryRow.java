@@ -0,0 +1,17 @@
+package com.justlife.cleaning.readmodel;
+
+import com.justlife.cleaning.entity.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flattened booking with one of its cleaner names, one row per assigned cleaner.
+ */
+public record BookingSummaryRow(Long id,
+                                LocalDateTime startDateTime,
+                                LocalDateTime endDateTime,
+                                Integer durationHours,
+                                String customerName,
+                                BookingStatus status,
+                                String cleanerName) {
+}
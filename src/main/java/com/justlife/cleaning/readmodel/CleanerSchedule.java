@@ -0,0 +1,101 @@
+package com.justlife.cleaning.readmodel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Booked intervals of one cleaner inside a loaded window, as parallel arrays of epoch
+ * minutes sorted by start.
+ */
+public record CleanerSchedule(long cleanerId, long vehicleId, long[] bookingIds, long[] startMinutes, long[] endMinutes) {
+
+    public static Map<Long, CleanerSchedule> forRoster(List<CleanerView> roster, List<BookingInterval> intervals) {
+        Map<Long, List<BookingInterval>> byCleaner = new HashMap<>();
+        for (BookingInterval interval : intervals) {
+            byCleaner.computeIfAbsent(interval.cleanerId(), k -> new ArrayList<>()).add(interval);
+        }
+
+        Map<Long, CleanerSchedule> schedules = new HashMap<>();
+        for (CleanerView cleaner : roster) {
+            List<BookingInterval> own = byCleaner.getOrDefault(cleaner.id(), Collections.emptyList());
+            own.sort(Comparator.comparing(BookingInterval::start));
+
+            long[] bookingIds = new long[own.size()];
+            long[] starts = new long[own.size()];
+            long[] ends = new long[own.size()];
+            for (int i = 0; i < own.size(); i++) {
+                bookingIds[i] = own.get(i).bookingId();
+                starts[i] = toMinute(own.get(i).start());
+                ends[i] = toMinute(own.get(i).end());
+            }
+            schedules.put(cleaner.id(), new CleanerSchedule(cleaner.id(), cleaner.vehicleId(), bookingIds, starts, ends));
+        }
+        return schedules;
+    }
+
+    public static long toMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    // Bit i is set when the cell starting at dayStart + i * cellMinutes is clear of every booking and its buffer
+    public long freeCellMask(LocalDateTime dayStart, int cells, int cellMinutes, int bufferMinutes) {
+        long first = toMinute(dayStart);
+        long mask = cells == Long.SIZE ? -1L : (1L << cells) - 1;
+        for (int i = 0; i < bookingIds.length; i++) {
+            long fromCell = Math.max(0, Math.floorDiv(startMinutes[i] - bufferMinutes - first, cellMinutes));
+            long toCell = Math.min(cells, Math.ceilDiv(endMinutes[i] + bufferMinutes - first, cellMinutes));
+            for (long cell = fromCell; cell < toCell; cell++) {
+                mask &= ~(1L << cell);
+            }
+        }
+        return mask;
+    }
+
+    // Copy with one more booked interval, used where a batch books cleaners before it commits
+    public CleanerSchedule withBooking(long bookingId, LocalDateTime start, LocalDateTime end) {
+        long startMinute = toMinute(start);
+        int at = 0;
+        while (at < startMinutes.length && startMinutes[at] <= startMinute) {
+            at++;
+        }
+        return new CleanerSchedule(cleanerId, vehicleId,
+                insert(bookingIds, at, bookingId),
+                insert(startMinutes, at, startMinute),
+                insert(endMinutes, at, toMinute(end)));
+    }
+
+    private static long[] insert(long[] values, int at, long value) {
+        long[] copy = new long[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(values, at, copy, at + 1, values.length - at);
+        return copy;
+    }
+
+    public boolean isEmpty() {
+        return bookingIds.length == 0;
+    }
+
+    public boolean isFree(LocalDateTime start, LocalDateTime end, int bufferMinutes) {
+        return isFree(start, end, bufferMinutes, null);
+    }
+
+    // The buffer is the break every cleaner needs before and after each booking
+    public boolean isFree(LocalDateTime start, LocalDateTime end, int bufferMinutes, Long ignoredBookingId) {
+        long requestedStart = toMinute(start);
+        long requestedEnd = toMinute(end);
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (ignoredBookingId != null && bookingIds[i] == ignoredBookingId) {
+                continue;
+            }
+            if (startMinutes[i] - bufferMinutes >= requestedEnd) {
+                break;
+            }
+            if (requestedStart < endMinutes[i] + bufferMinutes) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+package com.justlife.cleaning.readmodel;
+
+/**
+ * Roster entry of a cleaner, read without materializing Cleaner or Vehicle entities.
+ */
+public record CleanerView(Long id, String name, Long vehicleId) {
+}
@@ -0,0 +1,13 @@
+package com.justlife.cleaning.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking as it appears on one cleaner's schedule.
+ */
+public record ScheduleEntry(Long bookingId,
+                            Long cleanerId,
+                            LocalDateTime start,
+                            LocalDateTime end,
+                            String customerName) {
+}
@@ -0,0 +1,9 @@
+package com.justlife.cleaning.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booked cleaner of a booking, attributed to the vehicle serving the booking.
+ */
+public record VehicleInterval(Long vehicleId, LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,61 @@
+package com.justlife.cleaning.repository;
+
+import com.justlife.cleaning.entity.ArchivedBooking;
+import com.justlife.cleaning.readmodel.BookingSummaryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // Declared query spaces keep native statements from evicting unrelated second-level cache regions
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_archive"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_archive_cleaner")
+    })
+    @Query(value = "INSERT INTO booking_archive " +
+            "(id, start_date_time, end_date_time, duration_hours, zone, status, customer_name, vehicle_id, archived_at) " +
+            "SELECT id, start_date_time, end_date_time, duration_hours, zone, status, customer_name, vehicle_id, :archivedAt " +
+            "FROM booking WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_archive"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_archive_cleaner")
+    })
+    @Query(value = "INSERT INTO booking_archive_cleaner (booking_id, cleaner_id) " +
+            "SELECT booking_id, cleaner_id FROM booking_cleaner WHERE booking_id IN (:ids)", nativeQuery = true)
+    int copyFromBookingCleaners(@Param("ids") List<Long> ids);
+
+    // Same keyset as BookingRepository.findIdPageAfter; ids are kept on archiving, so both pages can be merged by id
+    @Query("SELECT a.id FROM ArchivedBooking a " +
+            "WHERE a.startDateTime < :to " +
+            "AND (a.startDateTime > :afterStart OR (a.startDateTime = :afterStart AND a.id > :afterId)) " +
+            "ORDER BY a.startDateTime, a.id")
+    List<Long> findIdPageAfter(@Param("to") LocalDateTime to,
+                               @Param("afterStart") LocalDateTime afterStart,
+                               @Param("afterId") Long afterId,
+                               Pageable limit);
+
+    @Query("SELECT new com.justlife.cleaning.readmodel.BookingSummaryRow(" +
+            "a.id, a.startDateTime, a.endDateTime, a.durationHours, a.customerName, a.status, c.name) " +
+            "FROM ArchivedBooking a " +
+            "LEFT JOIN a.cleanerIds cid " +
+            "LEFT JOIN Cleaner c ON c.id = cid " +
+            "WHERE a.id IN :ids " +
+            "ORDER BY a.startDateTime, a.id, cid")
+    List<BookingSummaryRow> findSummaryRowsByIds(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.justlife.cleaning.repository;
+
+import com.justlife.cleaning.entity.BookingAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingAuditRepository extends JpaRepository<BookingAudit, Long> {
+
+    @Query("SELECT a FROM BookingAudit a WHERE a.bookingId = :bookingId ORDER BY a.changedAt, a.id")
+    List<BookingAudit> findByBookingId(@Param("bookingId") Long bookingId);
+}
@@ -0,0 +1,31 @@
+package com.justlife.cleaning.repository;
+
+import com.justlife.cleaning.entity.BookingChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingChangeRepository extends JpaRepository<BookingChange, Long> {
+
+    // Primary key range scan: the poll cost depends on the new rows only
+    @Query("SELECT c FROM BookingChange c WHERE c.id > :afterId ORDER BY c.id")
+    List<BookingChange> findAfter(@Param("afterId") long afterId, Pageable page);
+
+    @Query("SELECT c FROM BookingChange c WHERE c.id IN :ids ORDER BY c.id")
+    List<BookingChange> findByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM BookingChange c")
+    long findLatestId();
+
+    @Modifying
+    @Query("DELETE FROM BookingChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") Instant cutoff);
+}
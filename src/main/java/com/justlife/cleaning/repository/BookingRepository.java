@@ -1,8 +1,17 @@
 package com.justlife.cleaning.repository;
 
 import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.readmodel.BookingInterval;
+import com.justlife.cleaning.readmodel.BookingSummaryRow;
+import com.justlife.cleaning.readmodel.ScheduleEntry;
+import com.justlife.cleaning.readmodel.VehicleInterval;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,21 +21,97 @@ import java.util.List;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // A literal rather than a parameter, so the plan always sees the one status schedule queries read
+    String ACTIVE = "com.justlife.cleaning.entity.BookingStatus.ACTIVE";
 
-    @Query("SELECT b FROM Booking b " +
+    @Query("SELECT new com.justlife.cleaning.readmodel.BookingInterval(b.id, c.id, b.startDateTime, b.endDateTime) " +
+            "FROM Booking b " +
             "JOIN b.cleaners c " +
-            "WHERE c.id IN :cleanerIds " +
+            "WHERE b.zone = :zone " +
+            "AND b.status = " + ACTIVE + " " +
+            "AND c.id IN :cleanerIds " +
             "AND ((b.startDateTime < :end AND b.endDateTime > :start))")
-    List<Booking> findConflictingBookings(@Param("cleanerIds") List<Long> cleanerIds,
+    List<BookingInterval> findConflictingBookings(@Param("zone") String zone,
+                                          @Param("cleanerIds") List<Long> cleanerIds,
                                           @Param("start") LocalDateTime start,
                                           @Param("end") LocalDateTime end);
     
-    @Query("SELECT b FROM Booking b " +
+    @Query("SELECT new com.justlife.cleaning.readmodel.BookingInterval(b.id, c.id, b.startDateTime, b.endDateTime) " +
+            "FROM Booking b " +
             "JOIN b.cleaners c " +
-            "WHERE c.id IN :cleanerIds " +
+            "WHERE b.zone = :zone " +
+            "AND b.status = " + ACTIVE + " " +
+            "AND c.id IN :cleanerIds " +
             "AND b.startDateTime >= :start " +
             "AND b.endDateTime <= :end")
-    List<Booking> findActiveBookingsForCleaners(@Param("cleanerIds") List<Long> cleanerIds,
+    List<BookingInterval> findActiveBookingsForCleaners(@Param("zone") String zone,
+                                                @Param("cleanerIds") List<Long> cleanerIds,
                                                 @Param("start") LocalDateTime start,
                                                 @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.justlife.cleaning.readmodel.BookingSummaryRow(" +
+            "b.id, b.startDateTime, b.endDateTime, b.durationHours, b.customerName, b.status, c.name) " +
+            "FROM Booking b " +
+            "LEFT JOIN b.cleaners c " +
+            "WHERE b.id = :id " +
+            "ORDER BY c.id")
+    List<BookingSummaryRow> findSummaryRowsById(@Param("id") Long id);
+
+    // Keyset page over (startDateTime, id): the seek predicate replaces OFFSET, so deep pages cost the same as the first
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.startDateTime < :to " +
+            "AND (b.startDateTime > :afterStart OR (b.startDateTime = :afterStart AND b.id > :afterId)) " +
+            "ORDER BY b.startDateTime, b.id")
+    List<Long> findIdPageAfter(@Param("to") LocalDateTime to,
+                               @Param("afterStart") LocalDateTime afterStart,
+                               @Param("afterId") Long afterId,
+                               Pageable limit);
+
+    @Query("SELECT new com.justlife.cleaning.readmodel.BookingSummaryRow(" +
+            "b.id, b.startDateTime, b.endDateTime, b.durationHours, b.customerName, b.status, c.name) " +
+            "FROM Booking b " +
+            "LEFT JOIN b.cleaners c " +
+            "WHERE b.id IN :ids " +
+            "ORDER BY b.startDateTime, b.id, c.id")
+    List<BookingSummaryRow> findSummaryRowsByIds(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new com.justlife.cleaning.readmodel.ScheduleEntry(b.id, c.id, b.startDateTime, b.endDateTime, b.customerName) " +
+            "FROM Booking b " +
+            "JOIN b.cleaners c " +
+            "WHERE c.id IN :cleanerIds " +
+            "AND b.status = " + ACTIVE + " " +
+            "AND b.startDateTime < :end AND b.endDateTime > :start " +
+            "ORDER BY b.startDateTime, b.id")
+    List<ScheduleEntry> findScheduleEntries(@Param("cleanerIds") List<Long> cleanerIds,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    // Bookings stored without a vehicle fall back to the cleaner's current one
+    @Query("SELECT new com.justlife.cleaning.readmodel.VehicleInterval(" +
+            "COALESCE(b.vehicleId, c.vehicle.id), b.startDateTime, b.endDateTime) " +
+            "FROM Booking b " +
+            "JOIN b.cleaners c " +
+            "WHERE b.startDateTime >= :start AND b.startDateTime < :end " +
+            "AND b.status = " + ACTIVE)
+    List<VehicleInterval> findVehicleIntervalsStartingBetween(@Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.endDateTime < :cutoff ORDER BY b.id")
+    List<Long> findIdsEndingBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_cleaner")
+    })
+    @Query(value = "DELETE FROM booking_cleaner WHERE booking_id IN (:ids)", nativeQuery = true)
+    int deleteCleanerLinks(@Param("ids") List<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_cleaner")
+    })
+    @Query(value = "DELETE FROM booking WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIds(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,38 @@
+package com.justlife.cleaning.repository;
+
+import com.justlife.cleaning.entity.CapacityCounter;
+import com.justlife.cleaning.entity.CapacityCounterKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CapacityCounterRepository extends JpaRepository<CapacityCounter, CapacityCounterKey> {
+
+    @Query("SELECT c FROM CapacityCounter c " +
+            "WHERE c.id.bookingDate BETWEEN :from AND :to " +
+            "AND c.bookedCleanerCells <> 0 " +
+            "ORDER BY c.id.bookingDate, c.id.cellIndex, c.id.vehicleId")
+    List<CapacityCounter> findNonZeroBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT c FROM CapacityCounter c " +
+            "WHERE c.id.vehicleId = :vehicleId " +
+            "AND c.id.bookingDate BETWEEN :from AND :to " +
+            "AND c.bookedCleanerCells <> 0 " +
+            "ORDER BY c.id.bookingDate, c.id.cellIndex")
+    List<CapacityCounter> findNonZeroBetweenForVehicle(@Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to,
+                                                       @Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT c FROM CapacityCounter c WHERE c.id.bookingDate = :date")
+    List<CapacityCounter> findByDate(@Param("date") LocalDate date);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CapacityCounter c WHERE c.id.bookingDate = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+}
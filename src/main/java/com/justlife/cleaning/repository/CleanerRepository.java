@@ -1,11 +1,18 @@
 package com.justlife.cleaning.repository;
 
 import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.readmodel.CleanerView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CleanerRepository extends JpaRepository<Cleaner, Long> {
@@ -13,4 +20,21 @@ public interface CleanerRepository extends JpaRepository<Cleaner, Long> {
     @Query("select c.id from Cleaner c")
     List<Long> findAllIds();
 
+    @Query("select new com.justlife.cleaning.readmodel.CleanerView(c.id, c.name, c.vehicle.id) " +
+            "from Cleaner c where c.vehicle.zone = :zone order by c.vehicle.id, c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CleanerView> findRosterByZone(@Param("zone") String zone);
+
+    @Query("select new com.justlife.cleaning.readmodel.CleanerView(c.id, c.name, c.vehicle.id) " +
+            "from Cleaner c where c.id = :id")
+    Optional<CleanerView> findViewById(@Param("id") Long id);
+
+    @Query("select new com.justlife.cleaning.readmodel.CleanerView(c.id, c.name, c.vehicle.id) " +
+            "from Cleaner c where c.vehicle.id = :vehicleId order by c.id")
+    List<CleanerView> findViewsByVehicleId(@Param("vehicleId") Long vehicleId);
+
+    @Query("select new com.justlife.cleaning.readmodel.CleanerView(c.id, c.name, c.vehicle.id) " +
+            "from Cleaner c where c.id in :ids")
+    List<CleanerView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,51 @@
+package com.justlife.cleaning.repository;
+
+import com.justlife.cleaning.readmodel.BookingInterval;
+import com.justlife.cleaning.readmodel.CleanerView;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of the roster and day schedule queries, over R2DBC.
+ */
+public class ReactiveScheduleReader {
+
+    private final DatabaseClient client;
+
+    public ReactiveScheduleReader(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<CleanerView> findRosterByZone(String zone) {
+        return client.sql("SELECT c.id, c.name, c.vehicle_id FROM cleaner c " +
+                        "JOIN vehicle v ON v.id = c.vehicle_id " +
+                        "WHERE v.zone = :zone " +
+                        "ORDER BY c.vehicle_id, c.id")
+                .bind("zone", zone)
+                .map((row, metadata) -> new CleanerView(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("vehicle_id", Long.class)))
+                .all();
+    }
+
+    public Flux<BookingInterval> findActiveBookingsInZone(String zone, LocalDateTime start, LocalDateTime end) {
+        return client.sql("SELECT b.id, bc.cleaner_id, b.start_date_time, b.end_date_time FROM booking b " +
+                        "JOIN booking_cleaner bc ON bc.booking_id = b.id " +
+                        "WHERE b.zone = :zone " +
+                        "AND b.status = 'ACTIVE' " +
+                        "AND b.start_date_time >= :start " +
+                        "AND b.end_date_time <= :end")
+                .bind("zone", zone)
+                .bind("start", start)
+                .bind("end", end)
+                .map((row, metadata) -> new BookingInterval(
+                        row.get("id", Long.class),
+                        row.get("cleaner_id", Long.class),
+                        row.get("start_date_time", LocalDateTime.class),
+                        row.get("end_date_time", LocalDateTime.class)))
+                .all();
+    }
+}
@@ -1,8 +1,11 @@
 package com.justlife.cleaning.repository;
 
 import com.justlife.cleaning.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,8 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     @Query("SELECT DISTINCT v FROM Vehicle v LEFT JOIN FETCH v.cleaners")
     List<Vehicle> findAllWithCleaners();
+
+    @Query("SELECT DISTINCT v.zone FROM Vehicle v ORDER BY v.zone")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<String> findDistinctZones();
 }
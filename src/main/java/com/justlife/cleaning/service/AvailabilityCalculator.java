@@ -0,0 +1,71 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.CleanerAvailabilityDto;
+import com.justlife.cleaning.readmodel.CleanerSchedule;
+import com.justlife.cleaning.readmodel.CleanerView;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Per-cleaner availability of one day, computed from already loaded schedules so the
+ * blocking and the reactive read paths give the same answers.
+ */
+public final class AvailabilityCalculator {
+
+    private AvailabilityCalculator() {
+    }
+
+    public static List<CleanerAvailabilityDto> evaluate(List<CleanerView> roster, Map<Long, CleanerSchedule> schedules,
+                                                        AvailabilityRequest request, DayPolicy day) {
+        List<CleanerAvailabilityDto> availabilityList = new ArrayList<>();
+
+        for (CleanerView cleaner : roster) {
+            CleanerSchedule schedule = schedules.get(cleaner.id());
+
+            List<String> freeSlots;
+            if (request.getStartTime() != null && request.getDuration() != null) {
+                // Check specific time
+                boolean isAvailable = isCleanerAvailable(schedule, day, request.getStartTime(), request.getDuration());
+                freeSlots = isAvailable ? List.of(request.getStartTime() + " - " + request.getStartTime().plusHours(request.getDuration())) : Collections.emptyList();
+            } else {
+                freeSlots = calculateFreeSlots(schedule, day);
+            }
+
+            if (!freeSlots.isEmpty()) {
+                availabilityList.add(CleanerAvailabilityDto.builder()
+                        .cleanerId(cleaner.id())
+                        .name(cleaner.name())
+                        .vehicleId(cleaner.vehicleId())
+                        .availableTimeSlots(freeSlots)
+                        .build());
+            }
+        }
+
+        return availabilityList;
+    }
+
+    private static boolean isCleanerAvailable(CleanerSchedule schedule, DayPolicy day, LocalTime requestedStart, int duration) {
+        // Check limits
+        if (!day.fits(requestedStart, duration)) {
+            return false;
+        }
+
+        // Existing bookings are padded with the break on both sides
+        LocalDateTime reqStart = LocalDateTime.of(day.date(), requestedStart);
+        return schedule.isFree(reqStart, reqStart.plusHours(duration), day.breakMinutes());
+    }
+
+    // The offered slots are precompiled per date, only the cleaner's bookings are checked here
+    private static List<String> calculateFreeSlots(CleanerSchedule schedule, DayPolicy day) {
+        List<String> slots = new ArrayList<>();
+        for (DayPolicy.Slot slot : day.slots()) {
+            if (schedule.isFree(slot.start(), slot.end(), day.breakMinutes())) {
+                slots.add(slot.label());
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,280 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.AvailabilityDeltaDto;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed booking changes to dashboard subscribers as per-cleaner cell deltas.
+ * Writers only enqueue into bounded per-subscriber buffers; sending happens on a small
+ * dispatcher pool, and a subscriber whose buffer overflows or whose send outlasts the write
+ * timeout is disconnected so it can reconnect and resync instead of slowing everybody else down.
+ * A dropped subscriber's in-flight send is interrupted, so a client that stopped reading never
+ * keeps a dispatcher thread for longer than the write timeout.
+ */
+@Slf4j
+@Service
+public class AvailabilityStreamService {
+
+    private final CleaningProperties.AvailabilityStream settings;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object publishLock = new Object();
+    private long sequence;
+
+    public AvailabilityStreamService(CleaningProperties properties) {
+        this.settings = properties.getAvailabilityStream();
+        this.dispatcher = Executors.newFixedThreadPool(settings.getDispatchThreads(),
+                Thread.ofPlatform().name("availability-stream-", 0).daemon(true).factory());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("availability-stream-watchdog").daemon(true).factory());
+        long sweepMillis = Math.max(10, settings.getWriteTimeout().toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::dropStalledSubscribers, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = newEmitter(settings.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, settings.getSubscriberBuffer());
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Overridable so tests can stand in for a client that reads slowly
+    protected SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish(toDeltas(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingsImported(BookingsImportedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish(toDeltas(event));
+    }
+
+    // Skips a sequence number without sending a delta, so subscribers see the gap and resync
+    public void announceGap() {
+        synchronized (publishLock) {
+            sequence++;
+        }
+    }
+
+    private void publish(List<AvailabilityDeltaDto> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Sequence assignment and enqueueing happen together so every subscriber sees deltas in order
+        synchronized (publishLock) {
+            for (AvailabilityDeltaDto delta : deltas) {
+                delta.setSequence(++sequence);
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offerAll(deltas)) {
+                    log.debug("Dropping slow availability subscriber");
+                    drop(subscriber);
+                    continue;
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public static List<AvailabilityDeltaDto> toDeltas(BookingChangedEvent event) {
+        Map<LocalDate, Set<LocalTime>> freed = cellsByDate(event.getPreviousStart(), event.getPreviousEnd());
+        Map<LocalDate, Set<LocalTime>> taken = cellsByDate(event.getStart(), event.getEnd());
+
+        Set<LocalDate> dates = new TreeSet<>(freed.keySet());
+        dates.addAll(taken.keySet());
+
+        // A reassigned booking frees the old team's cells and takes the new team's
+        List<Long> previousCleanerIds = event.getPreviousCleanerIds() != null
+                ? event.getPreviousCleanerIds()
+                : event.getCleanerIds();
+        Set<Long> cleanerIds = new LinkedHashSet<>(previousCleanerIds);
+        cleanerIds.addAll(event.getCleanerIds());
+
+        List<AvailabilityDeltaDto> deltas = new ArrayList<>();
+        for (LocalDate date : dates) {
+            for (Long cleanerId : cleanerIds) {
+                Set<LocalTime> freedBefore = previousCleanerIds.contains(cleanerId)
+                        ? freed.getOrDefault(date, Collections.emptySet())
+                        : Collections.emptySet();
+                Set<LocalTime> takenNow = event.getCleanerIds().contains(cleanerId)
+                        ? taken.getOrDefault(date, Collections.emptySet())
+                        : Collections.emptySet();
+                Set<LocalTime> freedCells = new TreeSet<>(freedBefore);
+                Set<LocalTime> takenCells = new TreeSet<>(takenNow);
+                freedCells.removeAll(takenNow);
+                takenCells.removeAll(freedBefore);
+
+                if (freedCells.isEmpty() && takenCells.isEmpty()) {
+                    continue;
+                }
+                deltas.add(AvailabilityDeltaDto.builder()
+                        .cleanerId(cleanerId)
+                        .date(date)
+                        .freedCells(List.copyOf(freedCells))
+                        .takenCells(List.copyOf(takenCells))
+                        .build());
+            }
+        }
+        return deltas;
+    }
+
+    // One delta per cleaner with all cells the day's imported bookings took
+    public static List<AvailabilityDeltaDto> toDeltas(BookingsImportedEvent event) {
+        Map<Long, Set<LocalTime>> takenByCleaner = new TreeMap<>();
+        for (BookingChangedEvent booking : event.getBookings()) {
+            List<LocalTime> cells = ScheduleGrid.cellsBetween(booking.getStart(), booking.getEnd());
+            for (Long cleanerId : booking.getCleanerIds()) {
+                takenByCleaner.computeIfAbsent(cleanerId, id -> new TreeSet<>()).addAll(cells);
+            }
+        }
+
+        List<AvailabilityDeltaDto> deltas = new ArrayList<>(takenByCleaner.size());
+        takenByCleaner.forEach((cleanerId, cells) -> deltas.add(AvailabilityDeltaDto.builder()
+                .cleanerId(cleanerId)
+                .date(event.getDate())
+                .freedCells(List.of())
+                .takenCells(List.copyOf(cells))
+                .build()));
+        return deltas;
+    }
+
+    private static Map<LocalDate, Set<LocalTime>> cellsByDate(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return Collections.emptyMap();
+        }
+        return Map.of(start.toLocalDate(), new TreeSet<>(ScheduleGrid.cellsBetween(start, end)));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed && subscriber.scheduled.compareAndSet(false, true)) {
+            subscriber.drain = dispatcher.submit(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            AvailabilityDeltaDto delta;
+            while (!subscriber.closed && (delta = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(delta.getSequence()))
+                        .name("availability")
+                        .data(delta));
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        long writeTimeout = settings.getWriteTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > writeTimeout) {
+                log.debug("Dropping stalled availability subscriber");
+                drop(subscriber);
+            }
+        }
+    }
+
+    // Interrupts the blocked send and completes the emitter off the caller's thread,
+    // since completing waits for the emitter's write lock the stalled send still holds
+    private void drop(Subscriber subscriber) {
+        close(subscriber);
+        Future<?> drain = subscriber.drain;
+        if (drain != null) {
+            drain.cancel(true);
+        }
+        Thread.ofVirtual().start(subscriber.emitter::complete);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<AvailabilityDeltaDto> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile Future<?> drain;
+        // System.nanoTime() when the current send began, 0 while no send is in flight
+        private volatile long sendStartedNanos;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Only called under the publish lock, so free capacity can only grow in between
+        private boolean offerAll(List<AvailabilityDeltaDto> deltas) {
+            if (queue.remainingCapacity() < deltas.size()) {
+                return false;
+            }
+            deltas.forEach(queue::offer);
+            return true;
+        }
+    }
+}
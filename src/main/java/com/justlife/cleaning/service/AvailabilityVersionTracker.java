@@ -0,0 +1,68 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-zone, per-date version counters used as availability ETags. Availability is
+ * computed per zone, so a booking only invalidates the tags of its own zone. The epoch
+ * is part of the tag so counters restarting from zero after a restart never validate
+ * an old tag.
+ */
+@Component
+public class AvailabilityVersionTracker {
+
+    private record Key(String zone, LocalDate date) {
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Key, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CleaningProperties.Zones zones;
+
+    public AvailabilityVersionTracker(CleaningProperties properties) {
+        this.zones = properties.getZones();
+    }
+
+    public long currentVersion(String zone, LocalDate date) {
+        AtomicLong version = versions.get(new Key(zones.resolve(zone), date));
+        return version == null ? 0 : version.get();
+    }
+
+    // Read this before computing the response: a commit racing with the computation
+    // then leaves the client with an already outdated tag, never a too-new one.
+    public String etagFor(String zone, LocalDate date) {
+        String resolved = zones.resolve(zone);
+        return "\"" + epoch + "-" + resolved + "-" + date + "-" + currentVersion(resolved, date) + "\"";
+    }
+
+    public void bump(String zone, LocalDate date) {
+        versions.computeIfAbsent(new Key(zones.resolve(zone), date), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        bumpDateOf(event.getZone(), event.getPreviousStart());
+        bumpDateOf(event.getZone(), event.getStart());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingsImported(BookingsImportedEvent event) {
+        bump(event.getZone(), event.getDate());
+    }
+
+    private void bumpDateOf(String zone, LocalDateTime dateTime) {
+        if (dateTime != null) {
+            bump(zone, dateTime.toLocalDate());
+        }
+    }
+}
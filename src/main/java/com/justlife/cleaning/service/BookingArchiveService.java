@@ -0,0 +1,71 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.repository.ArchivedBookingRepository;
+import com.justlife.cleaning.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves finished bookings out of the hot booking table so conflict and availability
+ * queries only ever scan the recent and future window. Every batch runs in its own
+ * short transaction.
+ */
+@Slf4j
+@Service
+public class BookingArchiveService {
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CleaningProperties.Archive settings;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 ArchivedBookingRepository archivedBookingRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 CleaningProperties properties) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getArchive();
+    }
+
+    @Scheduled(cron = "${cleaning.archive.cron}")
+    public void archiveScheduled() {
+        archiveBookingsEndingBefore(LocalDate.now().minusDays(settings.getRetentionDays()).atStartOfDay());
+    }
+
+    public int archiveBookingsEndingBefore(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == settings.getBatchSize());
+
+        log.info("Archived {} bookings ending before {} in {} ms",
+                total, cutoff, (System.nanoTime() - started) / 1_000_000);
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = bookingRepository.findIdsEndingBefore(cutoff, PageRequest.of(0, settings.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+        archivedBookingRepository.copyFromBookingCleaners(ids);
+        bookingRepository.deleteCleanerLinks(ids);
+        bookingRepository.deleteAllByIds(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,299 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.entity.BookingAudit;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import com.justlife.cleaning.repository.BookingAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Audit trail of booking changes, kept off the request path.
+ * <p>
+ * Committed changes go to a bounded queue that a single writer thread drains in batches,
+ * each batch in its own transaction. A full queue holds the committing request back for
+ * up to the offer timeout; after that, or once the writer has stopped, the request writes
+ * its own record, so a record is never dropped to make room.
+ * <p>
+ * A batch that fails transiently is retried a bounded number of times. Any other failure,
+ * or running out of retries, splits the batch into single-record writes so one record that
+ * can never be written is logged and counted instead of blocking the writer.
+ * <p>
+ * The writer stops after the web server has finished its in-flight requests and drains
+ * whatever is still queued before the database goes away.
+ */
+@Slf4j
+@Service
+public class BookingAuditTrail implements SmartLifecycle {
+
+    public static final String SYSTEM_ACTOR = "system";
+    public static final String ANONYMOUS_ACTOR = "anonymous";
+
+    // Below the web server's graceful shutdown (DEFAULT_PHASE - 1024) and stop (- 2048) phases
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 100;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_ACTOR_LENGTH = 128;
+
+    private final BookingAuditRepository bookingAuditRepository;
+    private final CleaningProperties.Audit settings;
+    private final TransactionTemplate transactionTemplate;
+    // AFTER_COMMIT still has the finished booking transaction bound, joining it would never flush
+    private final TransactionTemplate callerTransactionTemplate;
+    private final BlockingQueue<BookingAudit> queue;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter callerWriteCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public BookingAuditTrail(BookingAuditRepository bookingAuditRepository,
+                             CleaningProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.bookingAuditRepository = bookingAuditRepository;
+        this.settings = properties.getAudit();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.callerTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.callerTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        Gauge.builder("cleaning.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit records waiting for the background writer")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("cleaning.audit.flush")
+                .description("Time to write one batch of audit records")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("cleaning.audit.written")
+                .description("Audit records written")
+                .register(meterRegistry);
+        this.callerWriteCounter = Counter.builder("cleaning.audit.caller-writes")
+                .description("Audit records written by the committing thread because the queue stayed full or the writer was stopped")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("cleaning.audit.failed")
+                .description("Audit records that could not be written and were logged instead")
+                .register(meterRegistry);
+    }
+
+    // Runs on the committing thread, so the request that made the change is still at hand
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        enqueue(toRecord(event, currentActor()));
+    }
+
+    // Imported bookings are audited one record each, like bookings created through the API
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingsImported(BookingsImportedEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        String actor = currentActor();
+        event.getBookings().forEach(booking -> enqueue(toRecord(booking, actor)));
+    }
+
+    private void enqueue(BookingAudit record) {
+        if (running) {
+            try {
+                if (queue.offer(record, settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    // The writer may have drained for the last time between the check and the offer
+                    if (!running) {
+                        drainOnCaller();
+                    }
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        callerWriteCounter.increment();
+        writeOnCaller(List.of(record));
+    }
+
+    private void runWriter() {
+        List<BookingAudit> batch = new ArrayList<>(settings.getBatchSize());
+        try {
+            while (running || !queue.isEmpty()) {
+                BookingAudit first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, settings.getBatchSize() - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(record -> log.error("Audit record lost on shutdown: {}", record));
+        }
+    }
+
+    // The database being briefly unavailable must not cost records, so a transiently failed batch is
+    // retried as a whole; anything else is written record by record to isolate the ones that cannot be
+    private void writeWithRetry(List<BookingAudit> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch, transactionTemplate);
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException
+                     | CannotCreateTransactionException e) {
+                if (attempt > settings.getRetryAttempts()) {
+                    log.warn("Writing {} audit records still failed after {} retries: {}",
+                            batch.size(), settings.getRetryAttempts(), e.getMessage());
+                    break;
+                }
+                log.warn("Writing {} audit records failed, retrying: {}", batch.size(), e.getMessage());
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            } catch (RuntimeException e) {
+                log.warn("Writing {} audit records failed, writing them one by one: {}", batch.size(), e.getMessage());
+                break;
+            }
+        }
+        writeOneByOne(batch, transactionTemplate);
+    }
+
+    private void writeOneByOne(List<BookingAudit> batch, TransactionTemplate template) {
+        for (BookingAudit record : batch) {
+            try {
+                write(List.of(record), template);
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Audit record could not be written: {} ({})", record, e.getMessage());
+            }
+        }
+    }
+
+    private void write(List<BookingAudit> batch, TransactionTemplate template) {
+        try {
+            flushTimer.record(() -> template.executeWithoutResult(
+                    status -> bookingAuditRepository.saveAll(batch)));
+        } catch (RuntimeException e) {
+            // Ids assigned during the rolled back persist would make the next attempt a merge
+            batch.forEach(record -> record.setId(null));
+            throw e;
+        }
+        writtenCounter.increment(batch.size());
+    }
+
+    private void drainOnCaller() {
+        List<BookingAudit> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeOnCaller(remaining);
+        }
+    }
+
+    // The booking is already committed, so a failure here is logged rather than failing the request
+    private void writeOnCaller(List<BookingAudit> records) {
+        try {
+            write(records, callerTransactionTemplate);
+        } catch (RuntimeException e) {
+            log.error("Writing {} audit records failed: {}", records.size(), e.getMessage());
+            if (records.size() > 1) {
+                writeOneByOne(records, callerTransactionTemplate);
+            } else {
+                failedCounter.increment();
+                log.error("Audit record lost: {}", records.get(0));
+            }
+        }
+    }
+
+    private String currentActor() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return SYSTEM_ACTOR;
+        }
+        String actor = attributes.getRequest().getHeader(settings.getActorHeader());
+        if (actor == null || actor.isBlank()) {
+            return ANONYMOUS_ACTOR;
+        }
+        actor = actor.trim();
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+
+    private static BookingAudit toRecord(BookingChangedEvent event, String actor) {
+        return BookingAudit.builder()
+                .type(event.getType())
+                .bookingId(event.getBookingId())
+                .actor(actor)
+                .cleanerIds(join(event.getCleanerIds()))
+                .previousCleanerIds(join(event.getPreviousCleanerIds()))
+                .startDateTime(event.getStart())
+                .endDateTime(event.getEnd())
+                .previousStartDateTime(event.getPreviousStart())
+                .previousEndDateTime(event.getPreviousEnd())
+                .changedAt(Instant.now())
+                .build();
+    }
+
+    private static String join(List<Long> ids) {
+        return ids == null ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(";"));
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("booking-audit-writer").daemon(true).start(this::runWriter);
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(settings.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.error("Audit writer did not finish within {}, {} queued records are written on shutdown",
+                    settings.getShutdownTimeout(), queue.size());
+        }
+        writer = null;
+        drainOnCaller();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,234 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.entity.BookingChange;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import com.justlife.cleaning.repository.BookingChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-process state of several nodes sharing one database coherent without a broker.
+ * <p>
+ * Every booking change is appended to {@code booking_change} inside its own transaction. Each
+ * node polls the rows after the last id it has settled and replays the ones written by other
+ * nodes into its local listeners, so their staleness is bounded by the poll interval.
+ * <p>
+ * Ids are allocated before commit, so a lower id can become visible after a higher one. Missing
+ * ids are therefore kept open and re-read by id until they show up or the gap timeout passes
+ * (a rolled back transaction leaves a permanent gap), while new rows are read after the highest
+ * id already applied, so a long-open gap never makes a poll re-read what it has seen.
+ */
+@Slf4j
+@Service
+public class BookingChangeLog implements SmartLifecycle {
+
+    private static final long PURGE_EVERY_MINUTES = 10;
+
+    private final BookingChangeRepository bookingChangeRepository;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final AvailabilityStreamService availabilityStreamService;
+    private final CleaningProperties.ChangeLog settings;
+    private final TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService poller;
+    // Every id up to the watermark is applied or given up on; only the poller thread touches these
+    private long watermark = -1;
+    private final Set<Long> appliedAboveWatermark = new HashSet<>();
+    private long highestApplied = -1;
+    private final Map<Long, Long> gapSince = new HashMap<>();
+
+    public BookingChangeLog(BookingChangeRepository bookingChangeRepository,
+                            AvailabilityVersionTracker availabilityVersionTracker,
+                            AvailabilityStreamService availabilityStreamService,
+                            CleaningProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.bookingChangeRepository = bookingChangeRepository;
+        this.availabilityVersionTracker = availabilityVersionTracker;
+        this.availabilityStreamService = availabilityStreamService;
+        this.settings = properties.getChangeLog();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Synchronous on purpose: the row commits or rolls back with the booking itself
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        bookingChangeRepository.save(BookingChange.builder()
+                .type(event.getType())
+                .bookingId(event.getBookingId())
+                .originNode(settings.getNodeId())
+                .zone(event.getZone())
+                .cleanerIds(join(event.getCleanerIds()))
+                .previousCleanerIds(join(event.getPreviousCleanerIds()))
+                .startDateTime(event.getStart())
+                .endDateTime(event.getEnd())
+                .previousStartDateTime(event.getPreviousStart())
+                .previousEndDateTime(event.getPreviousEnd())
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    // One row per imported zone and day; other nodes refresh its ETags and let stream subscribers resync
+    @EventListener
+    public void onBookingsImported(BookingsImportedEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        bookingChangeRepository.save(BookingChange.builder()
+                .type(BookingChangedEvent.Type.IMPORTED)
+                .originNode(settings.getNodeId())
+                .zone(event.getZone())
+                .startDateTime(event.getDate().atStartOfDay())
+                .endDateTime(event.getDate().plusDays(1).atStartOfDay())
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Reads the changes committed since the last poll and applies those of other nodes.
+     * Returns the number of changes applied.
+     */
+    public synchronized int poll() {
+        if (watermark < 0) {
+            // A starting node has nothing to invalidate, it only follows what comes next
+            watermark = bookingChangeRepository.findLatestId();
+            highestApplied = watermark;
+            return 0;
+        }
+
+        List<BookingChange> changes = new ArrayList<>();
+        if (!gapSince.isEmpty()) {
+            changes.addAll(bookingChangeRepository.findByIds(gapSince.keySet()));
+        }
+        long previousHighest = highestApplied;
+        changes.addAll(bookingChangeRepository.findAfter(highestApplied, PageRequest.ofSize(settings.getBatchSize())));
+        int applied = 0;
+        for (BookingChange change : changes) {
+            if (!appliedAboveWatermark.add(change.getId())) {
+                continue;
+            }
+            highestApplied = Math.max(highestApplied, change.getId());
+            gapSince.remove(change.getId());
+            if (!settings.getNodeId().equals(change.getOriginNode())) {
+                apply(change);
+                applied++;
+            }
+        }
+        advanceWatermark(previousHighest);
+        return applied;
+    }
+
+    private void apply(BookingChange change) {
+        if (change.getType() == BookingChangedEvent.Type.IMPORTED) {
+            availabilityVersionTracker.bump(change.getZone(), change.getStartDateTime().toLocalDate());
+            availabilityStreamService.announceGap();
+            return;
+        }
+        BookingChangedEvent event = toEvent(change);
+        availabilityVersionTracker.onBookingChanged(event);
+        availabilityStreamService.onBookingChanged(event);
+    }
+
+    // Ids below the previous highest were already opened as gaps by earlier polls
+    private void advanceWatermark(long previousHighest) {
+        long now = System.nanoTime();
+        long gapTimeout = settings.getGapTimeout().toNanos();
+        for (long id = Math.max(watermark, previousHighest) + 1; id < highestApplied; id++) {
+            if (!appliedAboveWatermark.contains(id)) {
+                gapSince.putIfAbsent(id, now);
+            }
+        }
+        while (watermark < highestApplied) {
+            long next = watermark + 1;
+            if (appliedAboveWatermark.remove(next)) {
+                watermark = next;
+            } else if (now - gapSince.get(next) >= gapTimeout) {
+                gapSince.remove(next);
+                watermark = next;
+            } else {
+                break;
+            }
+        }
+    }
+
+    public int purge() {
+        Instant cutoff = Instant.now().minus(settings.getRetention());
+        return transactionTemplate.execute(status -> bookingChangeRepository.deleteChangedBefore(cutoff));
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("booking-change-poller").daemon(true).factory());
+        long interval = settings.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(() -> runSafely("poll", this::poll), 0, interval, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(() -> runSafely("purge", this::purge),
+                PURGE_EVERY_MINUTES, PURGE_EVERY_MINUTES, TimeUnit.MINUTES);
+    }
+
+    // A failed round must not cancel the schedule; the next one retries from the same watermark
+    private void runSafely(String task, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("Booking change {} failed: {}", task, e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return poller != null;
+    }
+
+    private static BookingChangedEvent toEvent(BookingChange change) {
+        return BookingChangedEvent.builder()
+                .type(change.getType())
+                .bookingId(change.getBookingId())
+                .zone(change.getZone())
+                .cleanerIds(split(change.getCleanerIds()))
+                .previousCleanerIds(change.getPreviousCleanerIds() != null ? split(change.getPreviousCleanerIds()) : null)
+                .start(change.getStartDateTime())
+                .end(change.getEndDateTime())
+                .previousStart(change.getPreviousStartDateTime())
+                .previousEnd(change.getPreviousEndDateTime())
+                .build();
+    }
+
+    private static String join(List<Long> ids) {
+        return ids == null ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(";"));
+    }
+
+    private static List<Long> split(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(";")).map(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.justlife.cleaning.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.BookingResponse;
+import com.justlife.cleaning.entity.BookingStatus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Streams bookings of a date range with their cleaner names.
+ * <p>
+ * Rows come from a forward-only cursor on a stateless session, so nothing is kept in a
+ * persistence context. The booking_cleaner join is flattened in SQL and ordered by
+ * booking, which lets the writer fold consecutive rows into one record while holding
+ * only the current booking in memory.
+ * <p>
+ * Active bookings of the range are streamed first, then the archived ones, each part
+ * ordered by start time. The two parts are separate statements, so a booking archived
+ * in between is read from both; only bookings that had already ended when the export
+ * started can be archived, so their ids are remembered and skipped in the archive part.
+ */
+@Slf4j
+@Service
+public class BookingExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String EXPORT_QUERY = """
+            select b.id, b.startDateTime, b.endDateTime, b.durationHours, b.customerName, b.status, c.name
+            from Booking b left join b.cleaners c
+            where b.startDateTime >= :from and b.startDateTime < :to
+            order by b.startDateTime, b.id, c.id
+            """;
+
+    private static final String ARCHIVE_EXPORT_QUERY = """
+            select a.id, a.startDateTime, a.endDateTime, a.durationHours, a.customerName, a.status, c.name
+            from ArchivedBooking a left join a.cleanerIds cid left join Cleaner c on c.id = cid
+            where a.startDateTime >= :from and a.startDateTime < :to
+            order by a.startDateTime, a.id, cid
+            """;
+
+    private static final String CSV_HEADER = "id,startDateTime,endDateTime,durationHours,customerName,cleanerNames,status";
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final CleaningProperties.Export settings;
+
+    public BookingExportService(EntityManagerFactory entityManagerFactory,
+                                ObjectMapper objectMapper,
+                                CleaningProperties properties) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.settings = properties.getExport();
+    }
+
+    // Both dates are inclusive
+    public long exportBookings(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long exported = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> endedActiveIds = new HashSet<>();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            exported += exportRows(session, EXPORT_QUERY, from, to, format, writer, booking -> {
+                if (booking.getEndDateTime().isBefore(now)) {
+                    endedActiveIds.add(booking.getId());
+                }
+                return true;
+            });
+            writer.flush();
+            exported += exportRows(session, ARCHIVE_EXPORT_QUERY, from, to, format, writer,
+                    booking -> !endedActiveIds.contains(booking.getId()));
+        }
+        writer.flush();
+
+        log.info("Exported {} bookings from {} to {} as {} in {} ms",
+                exported, from, to, format, (System.nanoTime() - started) / 1_000_000);
+        return exported;
+    }
+
+    private long exportRows(StatelessSession session, String query, LocalDate from, LocalDate to,
+                            Format format, Writer writer, Predicate<BookingResponse> include) throws IOException {
+        long exported = 0;
+        try (ScrollableResults<Object[]> rows = session.createQuery(query, Object[].class)
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.plusDays(1).atStartOfDay())
+                .setReadOnly(true)
+                .setFetchSize(settings.getFetchSize())
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            BookingResponse current = null;
+            while (rows.next()) {
+                Object[] row = rows.get();
+                Long id = (Long) row[0];
+                if (current == null || !current.getId().equals(id)) {
+                    if (current != null && include.test(current)) {
+                        write(current, format, writer);
+                        exported++;
+                    }
+                    current = BookingResponse.builder()
+                            .id(id)
+                            .startDateTime((LocalDateTime) row[1])
+                            .endDateTime((LocalDateTime) row[2])
+                            .durationHours((Integer) row[3])
+                            .customerName((String) row[4])
+                            .status((BookingStatus) row[5])
+                            .cleanerNames(new ArrayList<>())
+                            .build();
+                }
+                if (row[6] != null) {
+                    current.getCleanerNames().add((String) row[6]);
+                }
+            }
+            if (current != null && include.test(current)) {
+                write(current, format, writer);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    private void write(BookingResponse booking, Format format, Writer writer) throws IOException {
+        if (format == Format.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(booking));
+        } else {
+            writer.write(booking.getId().toString());
+            writer.write(',');
+            writer.write(booking.getStartDateTime().toString());
+            writer.write(',');
+            writer.write(booking.getEndDateTime().toString());
+            writer.write(',');
+            writer.write(booking.getDurationHours().toString());
+            writer.write(',');
+            writer.write(csvField(booking.getCustomerName()));
+            writer.write(',');
+            writer.write(csvField(String.join(";", booking.getCleanerNames())));
+            writer.write(',');
+            writer.write(booking.getStatus().name());
+        }
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,371 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.BookingImportReport;
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.readmodel.BookingInterval;
+import com.justlife.cleaning.readmodel.CleanerSchedule;
+import com.justlife.cleaning.readmodel.CleanerView;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams legacy bookings from CSV into the booking table.
+ * <p>
+ * The file is read line by line and processed in chunks: each chunk loads the zone
+ * rosters once and the existing bookings of every day it touches once, checks every row
+ * against them and against the rows accepted earlier for the same day, and inserts the
+ * accepted bookings in JDBC batches inside one transaction. Rows are bucketed by day, so
+ * an unsorted file costs one small conflict query per day instead of one spanning months.
+ * <p>
+ * Each imported day is announced with one {@link BookingsImportedEvent} rather than an
+ * event per row.
+ * <p>
+ * Expected header (any column order): {@code date,startTime,duration,customerName}
+ * plus the optional {@code cleanerCount}, {@code zone} and {@code cleanerIds}
+ * (semicolon separated, keeps the legacy team instead of assigning one).
+ */
+@Slf4j
+@Service
+public class BookingImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("date", "starttime", "duration", "customername");
+
+    private final BookingRepository bookingRepository;
+    private final CleanerRepository cleanerRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CleaningProperties properties;
+    private final SchedulingPolicy schedulingPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingImportService(BookingRepository bookingRepository,
+                                CleanerRepository cleanerRepository,
+                                EntityManager entityManager,
+                                ApplicationEventPublisher eventPublisher,
+                                CleaningProperties properties,
+                                SchedulingPolicy schedulingPolicy,
+                                PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.cleanerRepository = cleanerRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.schedulingPolicy = schedulingPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BookingImportReport importCsv(Reader source) throws IOException {
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress(properties.getBookingImport().getMaxReportedRejects());
+        int chunkSize = properties.getBookingImport().getChunkSize();
+
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BusinessException("The import file is empty.");
+        }
+        Map<String, Integer> columns = parseHeader(header);
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.totalRows++;
+            try {
+                chunk.add(parseRow(lineNumber, splitCsvLine(line), columns));
+            } catch (BusinessException e) {
+                progress.reject(lineNumber, e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : progress.totalRows * 1_000_000_000d / elapsedNanos;
+        log.info("Imported {} of {} bookings ({} rejected) at {} rows/s",
+                progress.importedRows, progress.totalRows, progress.rejectedRows, String.format("%.1f", rowsPerSecond));
+
+        return BookingImportReport.builder()
+                .totalRows(progress.totalRows)
+                .importedRows(progress.importedRows)
+                .rejectedRows(progress.rejectedRows)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .rejects(progress.rejects)
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportProgress progress) {
+        try {
+            List<Long> rejectedLines = new ArrayList<>();
+            List<String> reasons = new ArrayList<>();
+            Integer imported = transactionTemplate.execute(status -> {
+                int stored = 0;
+                Map<String, List<ImportRow>> rowsByZone = chunk.stream()
+                        .collect(Collectors.groupingBy(ImportRow::zone, LinkedHashMap::new, Collectors.toList()));
+                for (Map.Entry<String, List<ImportRow>> zoneRows : rowsByZone.entrySet()) {
+                    stored += importZoneRows(zoneRows.getKey(), zoneRows.getValue(), rejectedLines, reasons);
+                }
+                // Push the batched inserts and drop the chunk from the persistence context
+                entityManager.flush();
+                entityManager.clear();
+                return stored;
+            });
+            progress.importedRows += imported;
+            for (int i = 0; i < rejectedLines.size(); i++) {
+                progress.reject(rejectedLines.get(i), reasons.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Booking import chunk starting at line {} failed", chunk.get(0).line(), e);
+            for (ImportRow row : chunk) {
+                progress.reject(row.line(), "Chunk failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private int importZoneRows(String zone, List<ImportRow> rows, List<Long> rejectedLines, List<String> reasons) {
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+        if (roster.isEmpty()) {
+            for (ImportRow row : rows) {
+                rejectedLines.add(row.line());
+                reasons.add("No vehicles serve zone " + zone + ".");
+            }
+            return 0;
+        }
+        Map<Long, CleanerView> rosterById = roster.stream()
+                .collect(Collectors.toMap(CleanerView::id, cleaner -> cleaner));
+
+        int stored = 0;
+        Map<LocalDate, List<ImportRow>> rowsByDay = rows.stream()
+                .collect(Collectors.groupingBy(row -> row.start().toLocalDate(), TreeMap::new, Collectors.toList()));
+        for (Map.Entry<LocalDate, List<ImportRow>> dayRows : rowsByDay.entrySet()) {
+            stored += importDayRows(zone, dayRows.getKey(), dayRows.getValue(), roster, rosterById, rejectedLines, reasons);
+        }
+        return stored;
+    }
+
+    private int importDayRows(String zone, LocalDate date, List<ImportRow> rows, List<CleanerView> roster,
+                              Map<Long, CleanerView> rosterById, List<Long> rejectedLines, List<String> reasons) {
+        // One conflict query covering this day's rows; bookings never cross midnight
+        LocalDateTime windowStart = rows.stream().map(ImportRow::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime windowEnd = rows.stream().map(ImportRow::end).max(Comparator.naturalOrder()).orElseThrow();
+        List<BookingInterval> existing = bookingRepository.findConflictingBookings(
+                zone,
+                roster.stream().map(CleanerView::id).toList(),
+                windowStart.minusMinutes(schedulingPolicy.breakMinutes()),
+                windowEnd.plusMinutes(schedulingPolicy.breakMinutes())
+        );
+        Map<Long, CleanerSchedule> schedules = CleanerSchedule.forRoster(roster, existing);
+
+        List<Booking> accepted = new ArrayList<>();
+        // Rows of this chunk are not in the database yet, so they get negative placeholder ids
+        long placeholderId = -1;
+        for (ImportRow row : rows) {
+            List<CleanerView> team;
+            try {
+                team = row.cleanerIds().isEmpty()
+                        ? CleanerSelection.selectFromOneVehicle(
+                                roster, schedules, row.start(), row.end(), row.cleanerCount(), schedulingPolicy.breakMinutes())
+                        : legacyTeam(row, rosterById, schedules);
+            } catch (BusinessException e) {
+                rejectedLines.add(row.line());
+                reasons.add(e.getMessage());
+                continue;
+            }
+            if (team == null) {
+                rejectedLines.add(row.line());
+                reasons.add("No available cleaners found for the requested time and count constraint.");
+                continue;
+            }
+
+            for (CleanerView cleaner : team) {
+                schedules.put(cleaner.id(), schedules.get(cleaner.id()).withBooking(placeholderId, row.start(), row.end()));
+            }
+            placeholderId--;
+
+            List<Cleaner> cleanerReferences = team.stream()
+                    .map(cleaner -> cleanerRepository.getReferenceById(cleaner.id()))
+                    .toList();
+            accepted.add(Booking.builder()
+                    .startDateTime(row.start())
+                    .endDateTime(row.end())
+                    .durationHours(row.duration())
+                    .zone(zone)
+                    .vehicleId(team.get(0).vehicleId())
+                    .customerName(row.customerName())
+                    .cleaners(new ArrayList<>(cleanerReferences))
+                    .build());
+        }
+
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.saveAll(accepted);
+        eventPublisher.publishEvent(BookingsImportedEvent.of(zone, date, accepted));
+        return accepted.size();
+    }
+
+    private List<CleanerView> legacyTeam(ImportRow row, Map<Long, CleanerView> rosterById, Map<Long, CleanerSchedule> schedules) {
+        List<CleanerView> team = new ArrayList<>();
+        for (Long cleanerId : row.cleanerIds()) {
+            CleanerView cleaner = rosterById.get(cleanerId);
+            if (cleaner == null) {
+                throw new BusinessException("Cleaner " + cleanerId + " does not serve zone " + row.zone() + ".");
+            }
+            if (!team.isEmpty() && !team.get(0).vehicleId().equals(cleaner.vehicleId())) {
+                throw new BusinessException("All cleaners of a booking must come from the same vehicle.");
+            }
+            if (!schedules.get(cleanerId).isFree(row.start(), row.end(), schedulingPolicy.breakMinutes())) {
+                throw new BusinessException("Cleaner " + cleanerId + " is not available at the requested time.");
+            }
+            team.add(cleaner);
+        }
+        return team;
+    }
+
+    private Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BusinessException("The import file has no '" + required + "' column.");
+            }
+        }
+        return columns;
+    }
+
+    private ImportRow parseRow(long line, List<String> values, Map<String, Integer> columns) {
+        try {
+            LocalDate date = LocalDate.parse(value(values, columns, "date"));
+            LocalTime startTime = LocalTime.parse(value(values, columns, "starttime"));
+            int duration = Integer.parseInt(value(values, columns, "duration"));
+            String customerName = value(values, columns, "customername");
+            if (customerName == null || customerName.isBlank()) {
+                throw new BusinessException("Customer name is required.");
+            }
+
+            List<Long> cleanerIds = new ArrayList<>();
+            String cleanerIdsValue = value(values, columns, "cleanerids");
+            if (cleanerIdsValue != null && !cleanerIdsValue.isBlank()) {
+                for (String cleanerId : cleanerIdsValue.split(";")) {
+                    Long id = Long.parseLong(cleanerId.trim());
+                    if (cleanerIds.contains(id)) {
+                        throw new BusinessException("Cleaner " + id + " is listed more than once.");
+                    }
+                    cleanerIds.add(id);
+                }
+            }
+            String cleanerCountValue = value(values, columns, "cleanercount");
+            int cleanerCount = cleanerCountValue == null || cleanerCountValue.isBlank()
+                    ? Math.max(cleanerIds.size(), 1)
+                    : Integer.parseInt(cleanerCountValue);
+            if (cleanerCount < 1 || cleanerCount > 3) {
+                throw new BusinessException("Cleaner count must be between 1 and 3.");
+            }
+            if (!cleanerIds.isEmpty() && cleanerIds.size() != cleanerCount) {
+                throw new BusinessException("Cleaner count does not match the listed cleaners.");
+            }
+
+            String zone = properties.getZones().resolve(value(values, columns, "zone"));
+            schedulingPolicy.validate(zone, date, startTime, duration);
+
+            LocalDateTime start = LocalDateTime.of(date, startTime);
+            return new ImportRow(line, start, start.plusHours(duration), duration, cleanerCount, customerName.trim(),
+                    zone, cleanerIds);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BusinessException("Malformed value: " + e.getMessage());
+        }
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return values.get(index).trim();
+    }
+
+    // RFC 4180 fields on a single line: commas inside quotes and doubled quotes as escapes
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record ImportRow(long line, LocalDateTime start, LocalDateTime end, int duration, int cleanerCount,
+                             String customerName, String zone, List<Long> cleanerIds) {
+    }
+
+    private static final class ImportProgress {
+        private final int maxReportedRejects;
+        private final List<BookingImportReport.RejectedRow> rejects = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long rejectedRows;
+
+        private ImportProgress(int maxReportedRejects) {
+            this.maxReportedRejects = maxReportedRejects;
+        }
+
+        private void reject(long line, String reason) {
+            rejectedRows++;
+            if (rejects.size() < maxReportedRejects) {
+                rejects.add(BookingImportReport.RejectedRow.builder().line(line).reason(reason).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.dto.*;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.exception.ResourceNotFoundException;
+import com.justlife.cleaning.readmodel.BookingSummaryRow;
+import com.justlife.cleaning.readmodel.CleanerView;
+import com.justlife.cleaning.readmodel.ScheduleEntry;
+import com.justlife.cleaning.repository.ArchivedBookingRepository;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import com.justlife.cleaning.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Listing and schedule reads for ops tooling, served from projections only.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingQueryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final CleanerRepository cleanerRepository;
+    private final VehicleRepository vehicleRepository;
+
+    // Both dates are inclusive; the cursor carries the (startDateTime, id) of the last row returned
+    @Transactional(readOnly = true)
+    public BookingPageDto listBookings(LocalDate from, LocalDate to, String cursor, int size) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("'to' must not be before 'from'.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        LocalDateTime afterStart = from.atStartOfDay();
+        long afterId = Long.MIN_VALUE;
+        if (cursor != null) {
+            Map.Entry<LocalDateTime, Long> position = decodeCursor(cursor);
+            afterStart = position.getKey();
+            afterId = position.getValue();
+        }
+
+        // One extra id from each table tells whether another page exists. Archived and active
+        // bookings of the range are merged on the same (startDateTime, id) keyset, so a page can
+        // straddle the archive cutoff.
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Long> activeIds = bookingRepository.findIdPageAfter(end, afterStart, afterId, limit);
+        List<Long> archivedIds = archivedBookingRepository.findIdPageAfter(end, afterStart, afterId, limit);
+        if (activeIds.isEmpty() && archivedIds.isEmpty()) {
+            return BookingPageDto.builder().items(Collections.emptyList()).build();
+        }
+
+        List<BookingSummaryRow> rows = new ArrayList<>();
+        if (!archivedIds.isEmpty()) {
+            rows.addAll(archivedBookingRepository.findSummaryRowsByIds(archivedIds));
+        }
+        if (!activeIds.isEmpty()) {
+            rows.addAll(bookingRepository.findSummaryRowsByIds(activeIds));
+        }
+        // Stable, so the cleaner order within each booking is kept
+        rows.sort(Comparator.comparing(BookingSummaryRow::startDateTime).thenComparing(BookingSummaryRow::id));
+
+        List<BookingResponse> items = new ArrayList<>(size + 1);
+        BookingResponse current = null;
+        for (BookingSummaryRow row : rows) {
+            if (current == null || !current.getId().equals(row.id())) {
+                if (items.size() == size + 1) {
+                    break;
+                }
+                current = BookingResponse.builder()
+                        .id(row.id())
+                        .startDateTime(row.startDateTime())
+                        .endDateTime(row.endDateTime())
+                        .durationHours(row.durationHours())
+                        .customerName(row.customerName())
+                        .status(row.status())
+                        .cleanerNames(new ArrayList<>())
+                        .build();
+                items.add(current);
+            }
+            if (row.cleanerName() != null) {
+                current.getCleanerNames().add(row.cleanerName());
+            }
+        }
+        boolean hasNext = items.size() > size;
+        if (hasNext) {
+            items = items.subList(0, size);
+        }
+
+        BookingResponse last = items.get(items.size() - 1);
+        return BookingPageDto.builder()
+                .items(items)
+                .nextCursor(hasNext ? encodeCursor(last.getStartDateTime(), last.getId()) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CleanerScheduleDto getCleanerSchedule(Long cleanerId, LocalDate date) {
+        CleanerView cleaner = cleanerRepository.findViewById(cleanerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cleaner not found"));
+        return getSchedules(List.of(cleaner), date).get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public VehicleScheduleDto getVehicleSchedule(Long vehicleId, LocalDate date) {
+        List<CleanerView> cleaners = cleanerRepository.findViewsByVehicleId(vehicleId);
+        if (cleaners.isEmpty() && !vehicleRepository.existsById(vehicleId)) {
+            throw new ResourceNotFoundException("Vehicle not found");
+        }
+        return VehicleScheduleDto.builder()
+                .vehicleId(vehicleId)
+                .date(date)
+                .cleaners(cleaners.isEmpty() ? Collections.emptyList() : getSchedules(cleaners, date))
+                .build();
+    }
+
+    private List<CleanerScheduleDto> getSchedules(List<CleanerView> cleaners, LocalDate date) {
+        List<ScheduleEntry> entries = bookingRepository.findScheduleEntries(
+                cleaners.stream().map(CleanerView::id).toList(),
+                date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay());
+
+        Map<Long, List<ScheduledBookingDto>> byCleaner = new HashMap<>();
+        for (ScheduleEntry entry : entries) {
+            byCleaner.computeIfAbsent(entry.cleanerId(), k -> new ArrayList<>()).add(ScheduledBookingDto.builder()
+                    .bookingId(entry.bookingId())
+                    .startDateTime(entry.start())
+                    .endDateTime(entry.end())
+                    .customerName(entry.customerName())
+                    .build());
+        }
+
+        return cleaners.stream()
+                .map(cleaner -> CleanerScheduleDto.builder()
+                        .cleanerId(cleaner.id())
+                        .name(cleaner.name())
+                        .vehicleId(cleaner.vehicleId())
+                        .date(date)
+                        .bookings(byCleaner.getOrDefault(cleaner.id(), Collections.emptyList()))
+                        .build())
+                .toList();
+    }
+
+    private static String encodeCursor(LocalDateTime startDateTime, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startDateTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map.Entry<LocalDateTime, Long> decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new BusinessException("Invalid cursor.");
+            }
+            return Map.entry(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor.");
+        }
+    }
+}
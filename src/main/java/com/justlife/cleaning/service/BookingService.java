@@ -1,13 +1,22 @@
 package com.justlife.cleaning.service;
 
+import com.justlife.cleaning.config.CleaningProperties;
 import com.justlife.cleaning.dto.*;
 import com.justlife.cleaning.entity.*;
+import com.justlife.cleaning.event.BookingChangedEvent;
 import com.justlife.cleaning.exception.BusinessException;
 import com.justlife.cleaning.exception.ResourceNotFoundException;
+import com.justlife.cleaning.readmodel.BookingInterval;
+import com.justlife.cleaning.readmodel.BookingSummaryRow;
+import com.justlife.cleaning.readmodel.CleanerSchedule;
+import com.justlife.cleaning.readmodel.CleanerView;
+import com.justlife.cleaning.repository.ArchivedBookingRepository;
 import com.justlife.cleaning.repository.BookingRepository;
 import com.justlife.cleaning.repository.CleanerRepository;
-import com.justlife.cleaning.repository.VehicleRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,254 +30,464 @@ import java.util.*;
 @RequiredArgsConstructor
 public class BookingService {
 
+    // Candidate dates walked per requested occurrence of a series, enough to skip six closed days a week
+    private static final int MAX_CANDIDATES_PER_OCCURRENCE = 7;
+
     private final BookingRepository bookingRepository;
     private final CleanerRepository cleanerRepository;
-    private final VehicleRepository vehicleRepository;
-
-    private static final LocalTime WORK_START = LocalTime.of(8, 0);
-    private static final LocalTime WORK_END = LocalTime.of(22, 0);
-    private static final int BREAK_MINUTES = 30;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CleaningProperties properties;
+    private final SchedulingPolicy schedulingPolicy;
+    private final ObservationRegistry observationRegistry;
 
     @Transactional(readOnly = true)
     public List<CleanerAvailabilityDto> checkAvailability(AvailabilityRequest request) {
-        validateRequest(request.getDate(), request.getStartTime(), request.getDuration());
+        LocalDate date = request.getDate();
+        String zone = properties.getZones().resolve(request.getZone());
+        DayPolicy day = schedulingPolicy.validate(zone, date, request.getStartTime(), request.getDuration());
+
+        // Read the zone roster as flat projections instead of Cleaner/Vehicle entities
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+        if (roster.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Fetch all bookings for all cleaners in a single query and group them
+        Map<Long, CleanerSchedule> schedules = getBookingsByCleanerIds(zone, roster, date);
+
+        Observation observation = phase("availability.free-slots", roster);
+        return observation.observe(() -> {
+            List<CleanerAvailabilityDto> available = AvailabilityCalculator.evaluate(roster, schedules, request, day);
+            observation.lowCardinalityKeyValue("outcome", available.isEmpty() ? "none-available" : "available");
+            observation.highCardinalityKeyValue("available.count", String.valueOf(available.size()));
+            return available;
+        });
+    }
 
+    // Per-vehicle start times are found by intersecting the cleaners' free-cell masks, not by checking slots one by one
+    @Transactional(readOnly = true)
+    public List<VehicleAvailabilityDto> checkTeamAvailability(AvailabilityRequest request) {
         LocalDate date = request.getDate();
-        
-        if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+        String zone = properties.getZones().resolve(request.getZone());
+        DayPolicy day = schedulingPolicy.validate(zone, date, request.getStartTime(), request.getDuration());
+        int cleanerCount = request.getCleanerCount() != null ? request.getCleanerCount() : 1;
+
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+        if (roster.isEmpty()) {
             return Collections.emptyList();
         }
+        Map<Long, CleanerSchedule> schedules = getBookingsByCleanerIds(zone, roster, date);
 
-        List<CleanerAvailabilityDto> availabilityList = new ArrayList<>();
+        LocalDateTime dayStart = date.atTime(day.workStart());
+        int dayCells = day.cellCount();
+        List<Integer> durations = request.getDuration() != null ? List.of(request.getDuration()) : day.durations();
 
-        // Fetch only cleaner IDs to avoid loading full entities upfront
-        List<Long> cleanerIds = cleanerRepository.findAllIds();
-
-        // Fetch all bookings for all cleaners in a single query and group them
-        Map<Long, List<Booking>> bookingsByCleaner = getBookingsByCleanerIds(cleanerIds, date);
+        Map<Long, List<Long>> freeMasksByVehicle = new LinkedHashMap<>();
+        for (CleanerView cleaner : roster) {
+            freeMasksByVehicle.computeIfAbsent(cleaner.vehicleId(), k -> new ArrayList<>())
+                    .add(schedules.get(cleaner.id()).freeCellMask(
+                            dayStart, dayCells, ScheduleGrid.CELL_MINUTES, day.breakMinutes()));
+        }
 
-        for (Long cleanerId : cleanerIds) {
-            List<Booking> bookings = bookingsByCleaner.getOrDefault(cleanerId, Collections.emptyList());
+        List<VehicleAvailabilityDto> availabilityList = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> vehicle : freeMasksByVehicle.entrySet()) {
+            if (vehicle.getValue().size() < cleanerCount) {
+                continue;
+            }
 
-            List<String> freeSlots;
-            if (request.getStartTime() != null && request.getDuration() != null) {
-                // Check specific time
-                boolean isAvailable = isCleanerAvailable(bookings, date, request.getStartTime(), request.getDuration());
-                freeSlots = isAvailable ? List.of(request.getStartTime() + " - " + request.getStartTime().plusHours(request.getDuration())) : Collections.emptyList();
-            } else {
-                freeSlots = calculateFreeSlots(bookings, date);
+            long[] teamStarts = new long[durations.size()];
+            for (int d = 0; d < durations.size(); d++) {
+                int length = durations.get(d) * 60 / ScheduleGrid.CELL_MINUTES;
+                List<Long> startMasks = vehicle.getValue().stream()
+                        .map(freeMask -> TeamAvailability.startMask(freeMask, length, dayCells))
+                        .toList();
+                teamStarts[d] = TeamAvailability.atLeast(startMasks, cleanerCount);
             }
 
-            if (!freeSlots.isEmpty()) {
-                Cleaner cleaner = cleanerRepository.getReferenceById(cleanerId);
+            List<String> slots = new ArrayList<>();
+            for (int cell = 0; cell < dayCells; cell++) {
+                LocalTime start = day.cellStart(cell);
+                if (request.getStartTime() != null && !request.getStartTime().equals(start)) {
+                    continue;
+                }
+                for (int d = 0; d < durations.size(); d++) {
+                    if ((teamStarts[d] & (1L << cell)) != 0) {
+                        slots.add(start + " (" + durations.get(d) + "h)");
+                    }
+                }
+            }
 
-                availabilityList.add(CleanerAvailabilityDto.builder()
-                        .cleanerId(cleanerId)
-                        .name(cleaner.getName())
-                        .vehicleId(cleaner.getVehicle().getId())
-                        .availableTimeSlots(freeSlots)
+            if (!slots.isEmpty()) {
+                availabilityList.add(VehicleAvailabilityDto.builder()
+                        .vehicleId(vehicle.getKey())
+                        .cleanerCount(cleanerCount)
+                        .availableTimeSlots(slots)
                         .build());
             }
         }
-
         return availabilityList;
     }
 
+    // Candidates are grouped by date so each day's intervals are loaded once for all its candidates
+    @Transactional(readOnly = true)
+    public List<CandidateAvailabilityDto> checkCandidates(BatchAvailabilityRequest request) {
+        String zone = properties.getZones().resolve(request.getZone());
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+
+        Map<LocalDate, List<Integer>> candidatesByDate = new LinkedHashMap<>();
+        for (int i = 0; i < request.getCandidates().size(); i++) {
+            candidatesByDate.computeIfAbsent(request.getCandidates().get(i).getDate(), k -> new ArrayList<>()).add(i);
+        }
+
+        CandidateAvailabilityDto[] answers = new CandidateAvailabilityDto[request.getCandidates().size()];
+        for (Map.Entry<LocalDate, List<Integer>> day : candidatesByDate.entrySet()) {
+            Map<Long, CleanerSchedule> schedules = null;
+            for (int index : day.getValue()) {
+                AvailabilityCandidate candidate = request.getCandidates().get(index);
+                CandidateAvailabilityDto.CandidateAvailabilityDtoBuilder answer = CandidateAvailabilityDto.builder()
+                        .date(candidate.getDate())
+                        .startTime(candidate.getStartTime())
+                        .duration(candidate.getDuration())
+                        .cleanerCount(candidate.getCleanerCount());
+                try {
+                    schedulingPolicy.validate(zone, candidate.getDate(), candidate.getStartTime(), candidate.getDuration());
+                } catch (BusinessException e) {
+                    answers[index] = answer.available(false).reason(e.getMessage()).build();
+                    continue;
+                }
+                if (roster.isEmpty()) {
+                    answers[index] = answer.available(false).reason("No vehicles serve zone " + zone + ".").build();
+                    continue;
+                }
+                if (schedules == null) {
+                    schedules = getBookingsByCleanerIds(zone, roster, day.getKey());
+                }
+
+                LocalDateTime start = LocalDateTime.of(candidate.getDate(), candidate.getStartTime());
+                List<CleanerView> team = CleanerSelection.selectFromOneVehicle(
+                        roster, schedules, start, start.plusHours(candidate.getDuration()), candidate.getCleanerCount(),
+                        schedulingPolicy.breakMinutes());
+                answers[index] = team == null
+                        ? answer.available(false).reason("No available cleaners found for the requested time and count constraint.").build()
+                        : answer.available(true).vehicleId(team.get(0).vehicleId()).build();
+            }
+        }
+        return Arrays.asList(answers);
+    }
+
+    // Falls back to the archive so finished bookings stay readable after archival
+    @Transactional(readOnly = true)
+    public BookingResponse getBooking(Long id) {
+        List<BookingSummaryRow> rows = bookingRepository.findSummaryRowsById(id);
+        if (!rows.isEmpty()) {
+            return mapToResponse(rows);
+        }
+        return archivedBookingRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+    }
+
     @Transactional
     public BookingResponse createBooking(BookingRequest request) {
-        validateRequest(request.getDate(), request.getStartTime(), request.getDuration());
+        String zone = properties.getZones().resolve(request.getZone());
+        schedulingPolicy.validate(zone, request.getDate(), request.getStartTime(), request.getDuration());
 
         LocalDateTime startDateTime = LocalDateTime.of(request.getDate(), request.getStartTime());
         LocalDateTime endDateTime = startDateTime.plusHours(request.getDuration());
 
-        List<Vehicle> vehicles = vehicleRepository.findAllWithCleaners();
-        Map<Long, List<Booking>> conflictsByCleaner = groupConflictsByCleaner(
-                vehicles, startDateTime, endDateTime);
-
-        List<Cleaner> selectedCleaners = selectAvailableCleaners(
-                vehicles, conflictsByCleaner, request.getCleanerCount());
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+        if (roster.isEmpty()) {
+            throw new BusinessException("No vehicles serve zone " + zone + ".");
+        }
+        Map<Long, CleanerSchedule> conflictsByCleaner = groupConflictsByCleaner(
+                zone, roster, startDateTime, endDateTime);
+
+        Observation selection = phase("booking.select-cleaners", roster);
+        List<CleanerView> selectedCleaners = selection.observe(() -> {
+            List<CleanerView> team = CleanerSelection.selectFromOneVehicle(
+                    roster, conflictsByCleaner, startDateTime, endDateTime, request.getCleanerCount(),
+                    schedulingPolicy.breakMinutes());
+            selection.lowCardinalityKeyValue("outcome", team == null ? "no-team" : "selected");
+            return team;
+        });
 
         if (selectedCleaners == null) {
             throw new BusinessException("No available cleaners found for the requested time and count constraint.");
         }
 
+        // Entities only for the write: references are enough to link the join table rows
+        List<Cleaner> cleanerReferences = selectedCleaners.stream()
+                .map(cleaner -> cleanerRepository.getReferenceById(cleaner.id()))
+                .toList();
+
         Booking booking = Booking.builder()
                 .startDateTime(startDateTime)
                 .endDateTime(endDateTime)
                 .durationHours(request.getDuration())
+                .zone(zone)
+                .vehicleId(selectedCleaners.get(0).vehicleId())
                 .customerName(request.getCustomerName())
-                .cleaners(new ArrayList<>(selectedCleaners))
+                .cleaners(new ArrayList<>(cleanerReferences))
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(savedBooking));
 
-        return mapToResponse(savedBooking);
+        return mapToResponse(savedBooking, selectedCleaners.stream().map(CleanerView::name).toList());
     }
 
+    // Conflicts of the whole series come from one range query, and one team serves every occurrence
     @Transactional
-    public BookingResponse updateBooking(Long id, BookingUpdateRequest request) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+    public BookingSeriesResponse createSeries(BookingSeriesRequest request) {
+        boolean weekly = request.getFrequency() == BookingSeriesRequest.Frequency.WEEKLY;
+        DayOfWeek weekday = request.getStartDate().getDayOfWeek();
+        if (weekly && schedulingPolicy.isClosedEvery(weekday)) {
+            throw new BusinessException(schedulingPolicy.closedMessage(weekday));
+        }
+        String zone = properties.getZones().resolve(request.getZone());
+
+        // Closed dates are skipped, open ones must fit the hours of their own date. Closed days and
+        // date rules are configurable, so the walk is bounded instead of trusting that enough days are open
+        int maxCandidates = request.getOccurrences() * MAX_CANDIDATES_PER_OCCURRENCE;
+        List<LocalDate> dates = new ArrayList<>();
+        List<LocalDate> skippedDates = new ArrayList<>();
+        LocalDate date = request.getStartDate();
+        while (dates.size() < request.getOccurrences()) {
+            if (dates.size() + skippedDates.size() == maxCandidates) {
+                throw new BusinessException("Only " + dates.size() + " of " + request.getOccurrences()
+                        + " occurrences fall on open days within " + maxCandidates
+                        + (weekly ? " weeks" : " days") + " of the start date.");
+            }
+            DayPolicy day = schedulingPolicy.day(zone, date);
+            if (day.isOpen()) {
+                day.validate(request.getStartTime(), request.getDuration());
+                dates.add(date);
+            } else {
+                skippedDates.add(date);
+            }
+            date = weekly ? date.plusWeeks(1) : date.plusDays(1);
+        }
 
-        validateRequest(request.getDate(), request.getStartTime(), booking.getDurationHours());
+        List<CleanerSelection.Slot> slots = dates.stream()
+                .map(day -> LocalDateTime.of(day, request.getStartTime()))
+                .map(start -> new CleanerSelection.Slot(start, start.plusHours(request.getDuration())))
+                .toList();
 
-        LocalDateTime newStart = LocalDateTime.of(request.getDate(), request.getStartTime());
-        LocalDateTime newEnd = newStart.plusHours(booking.getDurationHours());
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(zone);
+        if (roster.isEmpty()) {
+            throw new BusinessException("No vehicles serve zone " + zone + ".");
+        }
+        Map<Long, CleanerSchedule> schedules = groupConflictsByCleaner(
+                zone, roster, slots.get(0).start(), slots.get(slots.size() - 1).end());
 
-        List<Long> cleanerIds = booking.getCleaners().stream().map(Cleaner::getId).toList();
+        List<CleanerView> selectedCleaners = CleanerSelection.selectFromOneVehicle(
+                roster, schedules, slots, request.getCleanerCount(), schedulingPolicy.breakMinutes());
 
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                cleanerIds,
-                newStart.minusMinutes(BREAK_MINUTES),
-                newEnd.plusMinutes(BREAK_MINUTES)
-        );
+        if (selectedCleaners == null) {
+            throw new BusinessException("No vehicle has enough cleaners available for every occurrence of the series.");
+        }
 
-        boolean hasConflict = conflicts.stream().anyMatch(b -> !b.getId().equals(id));
+        List<Cleaner> cleanerReferences = selectedCleaners.stream()
+                .map(cleaner -> cleanerRepository.getReferenceById(cleaner.id()))
+                .toList();
 
-        if (hasConflict) {
-            throw new BusinessException("Selected cleaners are not available at the new time.");
-        }
+        List<Booking> bookings = slots.stream()
+                .map(slot -> Booking.builder()
+                        .startDateTime(slot.start())
+                        .endDateTime(slot.end())
+                        .durationHours(request.getDuration())
+                        .zone(zone)
+                        .vehicleId(selectedCleaners.get(0).vehicleId())
+                        .customerName(request.getCustomerName())
+                        .cleaners(new ArrayList<>(cleanerReferences))
+                        .build())
+                .toList();
 
-        booking.setStartDateTime(newStart);
-        booking.setEndDateTime(newEnd);
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        savedBookings.forEach(booking -> eventPublisher.publishEvent(BookingChangedEvent.created(booking)));
 
-        return mapToResponse(bookingRepository.save(booking));
+        List<String> cleanerNames = selectedCleaners.stream().map(CleanerView::name).toList();
+        return BookingSeriesResponse.builder()
+                .bookings(savedBookings.stream().map(booking -> mapToResponse(booking, cleanerNames)).toList())
+                .skippedDates(skippedDates)
+                .build();
     }
 
-    private void validateRequest(LocalDate date, LocalTime time, Integer duration) {
-        if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
-            throw new BusinessException("We do not work on Fridays.");
+    @Transactional
+    public BookingResponse updateBooking(Long id, BookingUpdateRequest request) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new BusinessException("Cancelled bookings cannot be updated.");
         }
 
-        if (time != null ) {
-            if ( time.isBefore(WORK_START)) {
-                throw new BusinessException("Cannot start before " + WORK_START);
-            }
+        schedulingPolicy.validate(booking.getZone(), request.getDate(), request.getStartTime(), booking.getDurationHours());
+
+        LocalDateTime newStart = LocalDateTime.of(request.getDate(), request.getStartTime());
+        LocalDateTime newEnd = newStart.plusHours(booking.getDurationHours());
 
-            LocalTime endTime = time.plusHours(duration);
-            if (endTime.isAfter(WORK_END)) {
-                throw new BusinessException("Must finish before " + WORK_END);
+        List<Long> cleanerIds = booking.getCleaners().stream().map(Cleaner::getId).toList();
+        Long previousVehicleId = booking.getVehicleId();
+
+        List<String> cleanerNames;
+        if (request.isAllowReassignment()) {
+            cleanerNames = reassignIfBusy(booking, cleanerIds, newStart, newEnd);
+        } else {
+            List<BookingInterval> conflicts = bookingRepository.findConflictingBookings(
+                    booking.getZone(),
+                    cleanerIds,
+                    newStart.minusMinutes(schedulingPolicy.breakMinutes()),
+                    newEnd.plusMinutes(schedulingPolicy.breakMinutes())
+            );
+
+            boolean hasConflict = conflicts.stream().anyMatch(b -> !b.bookingId().equals(id));
+
+            if (hasConflict) {
+                throw new BusinessException("Selected cleaners are not available at the new time.");
             }
+            cleanerNames = booking.getCleaners().stream().map(Cleaner::getName).toList();
         }
 
-        if (duration !=null && !duration.equals(2) && !duration.equals(4)) {
-            throw new BusinessException("Duration must be 2 or 4 hours.");
-        }
-    }
+        LocalDateTime previousStart = booking.getStartDateTime();
+        LocalDateTime previousEnd = booking.getEndDateTime();
+        booking.setStartDateTime(newStart);
+        booking.setEndDateTime(newEnd);
 
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.rescheduled(
+                savedBooking, previousStart, previousEnd, cleanerIds, previousVehicleId));
 
-    private boolean isCleanerAvailable(List<Booking> bookings, LocalDate date, LocalTime requestedStart, int duration) {
-        LocalDateTime reqStart = LocalDateTime.of(date, requestedStart);
-        LocalDateTime reqEnd = reqStart.plusHours(duration);
+        return mapToResponse(savedBooking, cleanerNames);
+    }
 
-        // Check limits
-        if (requestedStart.isBefore(WORK_START) || reqEnd.toLocalTime().isAfter(WORK_END)) {
-            return false;
+    // The row stays for history; every schedule query filters on status, so the cells are free once this commits
+    @Transactional
+    public BookingResponse cancelBooking(Long id) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new BusinessException("Booking is already cancelled.");
         }
 
-        for (Booking b : bookings) {
-            // Add break to existing booking
-            LocalDateTime existingStartWithBuffer = b.getStartDateTime().minusMinutes(BREAK_MINUTES);
-            LocalDateTime existingEndWithBuffer = b.getEndDateTime().plusMinutes(BREAK_MINUTES);
+        booking.setStatus(BookingStatus.CANCELLED);
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.cancelled(savedBooking));
 
-            // Check overlap
-            if (reqStart.isBefore(existingEndWithBuffer) && reqEnd.isAfter(existingStartWithBuffer)) {
-                return false;
-            }
-        }
-        return true;
+        return mapToResponse(savedBooking, savedBooking.getCleaners().stream().map(Cleaner::getName).toList());
     }
 
-    private List<String> calculateFreeSlots(List<Booking> bookings, LocalDate date) {
-        List<String> slots = new ArrayList<>();
-        LocalTime current = WORK_START;
-        
-        bookings.sort(Comparator.comparing(Booking::getStartDateTime));
+    // One conflict query over the zone roster covers both the current team and every candidate team
+    private List<String> reassignIfBusy(Booking booking, List<Long> currentCleanerIds,
+                                        LocalDateTime newStart, LocalDateTime newEnd) {
+        List<CleanerView> roster = cleanerRepository.findRosterByZone(booking.getZone());
+        List<BookingInterval> conflicts = bookingRepository.findConflictingBookings(
+                booking.getZone(),
+                roster.stream().map(CleanerView::id).toList(),
+                newStart.minusMinutes(schedulingPolicy.breakMinutes()),
+                newEnd.plusMinutes(schedulingPolicy.breakMinutes())
+        ).stream().filter(conflict -> !conflict.bookingId().equals(booking.getId())).toList();
+        Map<Long, CleanerSchedule> schedules = CleanerSchedule.forRoster(roster, conflicts);
+
+        List<CleanerView> currentTeam = roster.stream()
+                .filter(cleaner -> currentCleanerIds.contains(cleaner.id()))
+                .toList();
+        boolean currentTeamFree = currentTeam.size() == currentCleanerIds.size()
+                && currentTeam.stream().allMatch(cleaner -> schedules.get(cleaner.id()).isFree(
+                        newStart, newEnd, schedulingPolicy.breakMinutes()));
+        if (currentTeamFree) {
+            return currentTeam.stream().map(CleanerView::name).toList();
+        }
 
-        while (current.plusHours(2).isBefore(WORK_END) || current.plusHours(2).equals(WORK_END)) {
-            if (isCleanerAvailable(bookings, date, current, 2)) {
-                slots.add(current + " (2h)");
-            }
-            if (current.plusHours(4).isBefore(WORK_END) || current.plusHours(4).equals(WORK_END)) {
-                 if (isCleanerAvailable(bookings, date, current, 4)) {
-                    slots.add(current + " (4h)");
-                }
-            }
-            current = current.plusMinutes(30);
+        List<CleanerView> newTeam = CleanerSelection.selectFromOneVehicle(
+                roster, schedules, newStart, newEnd, currentCleanerIds.size(), schedulingPolicy.breakMinutes());
+        if (newTeam == null) {
+            throw new BusinessException("No available cleaners found for the requested time and count constraint.");
         }
-        return slots;
+
+        // Replacing the collection rewrites the booking_cleaner rows of this booking only
+        booking.getCleaners().clear();
+        newTeam.forEach(cleaner -> booking.getCleaners().add(cleanerRepository.getReferenceById(cleaner.id())));
+        booking.setVehicleId(newTeam.get(0).vehicleId());
+        return newTeam.stream().map(CleanerView::name).toList();
     }
 
-    public Map<Long, List<Booking>> getBookingsByCleanerIds(List<Long> cleanerIds, LocalDate date) {
+    public Map<Long, CleanerSchedule> getBookingsByCleanerIds(String zone, List<CleanerView> roster, LocalDate date) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
 
-        List<Booking> bookings = bookingRepository.findActiveBookingsForCleaners(
-                cleanerIds, start, end
-        );
-
-        Map<Long, List<Booking>> map = new HashMap<>();
-        for (Booking booking : bookings) {
-            booking.getCleaners().stream()
-                    .map(Cleaner::getId)
-                    .filter(cleanerIds::contains)
-                    .forEach(id -> map
-                            .computeIfAbsent(id, k -> new ArrayList<>())
-                            .add(booking));
-        }
-        return map;
+        Observation observation = phase("booking.schedules.load", roster);
+        return observation.observe(() -> {
+            List<BookingInterval> intervals = bookingRepository.findActiveBookingsForCleaners(
+                    zone, roster.stream().map(CleanerView::id).toList(), start, end
+            );
+            observation.highCardinalityKeyValue("booking.count", String.valueOf(intervals.size()));
+            return CleanerSchedule.forRoster(roster, intervals);
+        });
     }
 
-    private Map<Long, List<Booking>> groupConflictsByCleaner(
-            List<Vehicle> vehicles, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        List<Long> allCleanerIds = vehicles.stream()
-                .flatMap(vehicle -> vehicle.getCleaners().stream())
-                .map(Cleaner::getId)
-                .toList();
+    // In-memory phases get their own span, tagged with the fleet size they worked on
+    private Observation phase(String name, List<CleanerView> roster) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .highCardinalityKeyValue("fleet.size", String.valueOf(roster.size()));
+    }
 
-        List<Booking> allConflicts = bookingRepository.findConflictingBookings(
-                allCleanerIds,
-                startDateTime.minusMinutes(BREAK_MINUTES), // Check break before
-                endDateTime.plusMinutes(BREAK_MINUTES)       // Check break after
+    private Map<Long, CleanerSchedule> groupConflictsByCleaner(
+            String zone, List<CleanerView> roster, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        List<BookingInterval> allConflicts = bookingRepository.findConflictingBookings(
+                zone,
+                roster.stream().map(CleanerView::id).toList(),
+                startDateTime.minusMinutes(schedulingPolicy.breakMinutes()), // Check break before
+                endDateTime.plusMinutes(schedulingPolicy.breakMinutes())       // Check break after
         );
 
-        Map<Long, List<Booking>> conflictsByCleaner = new HashMap<>();
-        for (Booking conflict : allConflicts) {
-            for (Cleaner cleaner : conflict.getCleaners()) {
-                conflictsByCleaner.computeIfAbsent(cleaner.getId(), k -> new ArrayList<>())
-                        .add(conflict);
-            }
-        }
-        return conflictsByCleaner;
+        return CleanerSchedule.forRoster(roster, allConflicts);
     }
 
-    private List<Cleaner> selectAvailableCleaners(
-            List<Vehicle> vehicles, Map<Long, List<Booking>> conflictsByCleaner, int requiredCount) {
-        for (Vehicle vehicle : vehicles) {
-            List<Cleaner> availableCleanersInVehicle = new ArrayList<>();
-            for (Cleaner cleaner : vehicle.getCleaners()) {
-                List<Booking> conflicts = conflictsByCleaner.getOrDefault(cleaner.getId(), Collections.emptyList());
-
-                if (conflicts.isEmpty()) {
-                    availableCleanersInVehicle.add(cleaner);
-                }
-            }
+    private BookingResponse mapToResponse(Booking booking, List<String> cleanerNames) {
+        return BookingResponse.builder()
+                .id(booking.getId())
+                .startDateTime(booking.getStartDateTime())
+                .endDateTime(booking.getEndDateTime())
+                .durationHours(booking.getDurationHours())
+                .cleanerNames(cleanerNames)
+                .customerName(booking.getCustomerName())
+                .status(booking.getStatus())
+                .build();
+    }
 
-            if (availableCleanersInVehicle.size() >= requiredCount) {
-                return availableCleanersInVehicle.subList(0, requiredCount);
-            }
-        }
-        return null;
+    private BookingResponse mapToResponse(List<BookingSummaryRow> rows) {
+        BookingSummaryRow first = rows.get(0);
+        return BookingResponse.builder()
+                .id(first.id())
+                .startDateTime(first.startDateTime())
+                .endDateTime(first.endDateTime())
+                .durationHours(first.durationHours())
+                .cleanerNames(rows.stream().map(BookingSummaryRow::cleanerName).filter(Objects::nonNull).toList())
+                .customerName(first.customerName())
+                .status(first.status())
+                .build();
     }
 
-    private BookingResponse mapToResponse(Booking booking) {
+    private BookingResponse mapToResponse(ArchivedBooking booking) {
         return BookingResponse.builder()
                 .id(booking.getId())
                 .startDateTime(booking.getStartDateTime())
                 .endDateTime(booking.getEndDateTime())
                 .durationHours(booking.getDurationHours())
-                .cleanerNames(booking.getCleaners().stream().map(Cleaner::getName).toList())
+                .cleanerNames(cleanerNames(booking.getCleanerIds()))
                 .customerName(booking.getCustomerName())
+                .status(booking.getStatus())
                 .build();
     }
+
+    // Names only, read as projections in the archived team's order; cleaners deleted since are left out
+    private List<String> cleanerNames(List<Long> cleanerIds) {
+        if (cleanerIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> nameById = new HashMap<>();
+        cleanerRepository.findViewsByIds(cleanerIds).forEach(cleaner -> nameById.put(cleaner.id(), cleaner.name()));
+        return cleanerIds.stream().map(nameById::get).filter(Objects::nonNull).toList();
+    }
 }
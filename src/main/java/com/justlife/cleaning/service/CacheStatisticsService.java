@@ -0,0 +1,44 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.dto.CacheRegionStatisticsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatisticsDto> getSecondLevelCacheStatistics() {
+        List<CacheRegionStatisticsDto> result = new ArrayList<>();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            result.add(CacheRegionStatisticsDto.builder()
+                    .region(region)
+                    .hits(hits)
+                    .misses(misses)
+                    .puts(regionStatistics.getPutCount())
+                    .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                    .build());
+        }
+        return result;
+    }
+}
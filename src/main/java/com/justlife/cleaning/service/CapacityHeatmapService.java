@@ -0,0 +1,245 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.HeatmapCellDto;
+import com.justlife.cleaning.entity.CapacityCounter;
+import com.justlife.cleaning.entity.CapacityCounterKey;
+import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.readmodel.VehicleInterval;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CapacityCounterRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Utilization heatmap (day x 30 minute cell x vehicle) kept as counters.
+ * <p>
+ * Counters are adjusted inside the booking transaction on every booking change, so a
+ * heatmap read touches at most days x cells x vehicles rows no matter how many
+ * bookings exist. Cells count towards the vehicle stored with the booking, so a cleaner
+ * moving to another vehicle does not shift the counts of bookings already made, nor make
+ * a later reschedule subtract from the wrong vehicle. The reconciliation job rebuilds the counters of the days still in
+ * the booking table; older days keep the counts they had when their bookings were
+ * archived.
+ */
+@Slf4j
+@Service
+public class CapacityHeatmapService {
+
+    private static final int MAX_HEATMAP_DAYS = 93;
+
+    private static final String UPSERT = """
+            MERGE INTO capacity_counter t
+            USING (SELECT CAST(? AS DATE) AS booking_date, CAST(? AS INT) AS cell_index,
+                          CAST(? AS BIGINT) AS vehicle_id, CAST(? AS INT) AS delta) s
+            ON t.booking_date = s.booking_date AND t.cell_index = s.cell_index AND t.vehicle_id = s.vehicle_id
+            WHEN MATCHED THEN UPDATE SET booked_cleaner_cells = t.booked_cleaner_cells + s.delta
+            WHEN NOT MATCHED THEN INSERT (booking_date, cell_index, vehicle_id, booked_cleaner_cells)
+                VALUES (s.booking_date, s.cell_index, s.vehicle_id, s.delta)
+            """;
+
+    private final CapacityCounterRepository capacityCounterRepository;
+    private final BookingRepository bookingRepository;
+    private final CleanerRepository cleanerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CleaningProperties properties;
+
+    public CapacityHeatmapService(CapacityCounterRepository capacityCounterRepository,
+                                  BookingRepository bookingRepository,
+                                  CleanerRepository cleanerRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  CleaningProperties properties) {
+        this.capacityCounterRepository = capacityCounterRepository;
+        this.bookingRepository = bookingRepository;
+        this.cleanerRepository = cleanerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    // Runs synchronously inside the booking transaction so the counters commit or roll back with it
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        applyDeltas(List.of(event));
+    }
+
+    // A whole imported day is summed into one batch of upserts
+    @EventListener
+    public void onBookingsImported(BookingsImportedEvent event) {
+        applyDeltas(event.getBookings());
+    }
+
+    private void applyDeltas(List<BookingChangedEvent> events) {
+        // Counters follow the vehicle stored with the booking; only bookings stored without one
+        // fall back to the cleaners' current vehicle
+        Set<Long> unattributedCleanerIds = new HashSet<>();
+        for (BookingChangedEvent event : events) {
+            if (event.getPreviousStart() != null && event.getPreviousVehicleId() == null) {
+                unattributedCleanerIds.addAll(previousCleanerIds(event));
+            }
+            if (event.getStart() != null && event.getVehicleId() == null) {
+                unattributedCleanerIds.addAll(event.getCleanerIds());
+            }
+        }
+        // Lookups by id are served from the second-level cache
+        Map<Long, Long> vehicleByCleaner = vehicleByCleaner(unattributedCleanerIds.stream()
+                .map(cleanerRepository::findById)
+                .flatMap(Optional::stream)
+                .toList());
+
+        Map<CapacityCounterKey, Integer> deltas = new HashMap<>();
+        for (BookingChangedEvent event : events) {
+            if (event.getPreviousStart() != null) {
+                for (Long cleanerId : previousCleanerIds(event)) {
+                    Long vehicleId = event.getPreviousVehicleId() != null
+                            ? event.getPreviousVehicleId()
+                            : vehicleByCleaner.get(cleanerId);
+                    addCells(deltas, vehicleId, event.getPreviousStart(), event.getPreviousEnd(), -1);
+                }
+            }
+            if (event.getStart() != null) {
+                for (Long cleanerId : event.getCleanerIds()) {
+                    Long vehicleId = event.getVehicleId() != null ? event.getVehicleId() : vehicleByCleaner.get(cleanerId);
+                    addCells(deltas, vehicleId, event.getStart(), event.getEnd(), 1);
+                }
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(new Object[]{
+                Date.valueOf(key.getBookingDate()), key.getCellIndex(), key.getVehicleId(), delta}));
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    private static List<Long> previousCleanerIds(BookingChangedEvent event) {
+        return event.getPreviousCleanerIds() != null ? event.getPreviousCleanerIds() : event.getCleanerIds();
+    }
+
+    // Both dates are inclusive
+    @Transactional(readOnly = true)
+    public List<HeatmapCellDto> getHeatmap(LocalDate from, LocalDate to, Long vehicleId) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("'to' must not be before 'from'.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_HEATMAP_DAYS) {
+            throw new BusinessException("The heatmap covers at most " + MAX_HEATMAP_DAYS + " days.");
+        }
+
+        List<CapacityCounter> counters = vehicleId == null
+                ? capacityCounterRepository.findNonZeroBetween(from, to)
+                : capacityCounterRepository.findNonZeroBetweenForVehicle(from, to, vehicleId);
+        return counters.stream()
+                .map(counter -> HeatmapCellDto.builder()
+                        .date(counter.getId().getBookingDate())
+                        .cellStart(LocalTime.MIDNIGHT.plusMinutes((long) counter.getId().getCellIndex() * ScheduleGrid.CELL_MINUTES))
+                        .vehicleId(counter.getId().getVehicleId())
+                        .bookedCleanerHours(counter.getBookedCleanerCells() * ScheduleGrid.CELL_MINUTES / 60.0)
+                        .build())
+                .toList();
+    }
+
+    @Scheduled(cron = "${cleaning.capacity.reconcile-cron}")
+    public void reconcileScheduled() {
+        LocalDate today = LocalDate.now();
+        reconcile(today.minusDays(properties.getArchive().getRetentionDays()),
+                today.plusDays(properties.getCapacity().getReconcileDaysAhead()));
+    }
+
+    // Days are rebuilt one transaction at a time; returns how many counters had drifted.
+    // Only the hot booking table is read, so days before the archive cutoff are refused
+    // instead of having their archived history wiped from the counters.
+    public int reconcile(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = today.minusDays(properties.getArchive().getRetentionDays());
+        LocalDate latest = today.plusDays(properties.getCapacity().getReconcileDaysAhead());
+        if (from.isAfter(to)) {
+            throw new BusinessException("The reconcile range must not end before it starts.");
+        }
+        if (from.isBefore(earliest)) {
+            throw new BusinessException("Days before " + earliest + " are archived and cannot be reconciled.");
+        }
+        if (to.isAfter(latest)) {
+            throw new BusinessException("Days after " + latest + " cannot be reconciled.");
+        }
+
+        long started = System.nanoTime();
+        int drifted = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            LocalDate day = date;
+            drifted += transactionTemplate.execute(status -> reconcileDay(day));
+        }
+        log.info("Reconciled capacity counters from {} to {}, {} counters drifted, in {} ms",
+                from, to, drifted, (System.nanoTime() - started) / 1_000_000);
+        return drifted;
+    }
+
+    private int reconcileDay(LocalDate date) {
+        Map<CapacityCounterKey, Integer> expected = new HashMap<>();
+        for (VehicleInterval interval : bookingRepository.findVehicleIntervalsStartingBetween(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            addCells(expected, interval.vehicleId(), interval.start(), interval.end(), 1);
+        }
+
+        Map<CapacityCounterKey, Integer> stored = new HashMap<>();
+        for (CapacityCounter counter : capacityCounterRepository.findByDate(date)) {
+            if (counter.getBookedCleanerCells() != 0) {
+                stored.put(counter.getId(), counter.getBookedCleanerCells());
+            }
+        }
+        if (stored.equals(expected)) {
+            return 0;
+        }
+
+        Set<CapacityCounterKey> keys = new HashSet<>(stored.keySet());
+        keys.addAll(expected.keySet());
+        int drifted = (int) keys.stream().filter(key -> !Objects.equals(stored.get(key), expected.get(key))).count();
+
+        capacityCounterRepository.deleteByDate(date);
+        capacityCounterRepository.saveAll(expected.entrySet().stream()
+                .map(entry -> CapacityCounter.builder().id(entry.getKey()).bookedCleanerCells(entry.getValue()).build())
+                .toList());
+        return drifted;
+    }
+
+    private static void addCells(Map<CapacityCounterKey, Integer> counters, Long vehicleId,
+                                 LocalDateTime start, LocalDateTime end, int delta) {
+        if (vehicleId == null) {
+            return;
+        }
+        for (LocalTime cell : ScheduleGrid.cellsBetween(start, end)) {
+            int cellIndex = (cell.getHour() * 60 + cell.getMinute()) / ScheduleGrid.CELL_MINUTES;
+            counters.merge(new CapacityCounterKey(start.toLocalDate(), cellIndex, vehicleId), delta, Integer::sum);
+        }
+    }
+
+    private static Map<Long, Long> vehicleByCleaner(List<Cleaner> cleaners) {
+        Map<Long, Long> vehicleByCleaner = new HashMap<>();
+        for (Cleaner cleaner : cleaners) {
+            vehicleByCleaner.put(cleaner.getId(), cleaner.getVehicle().getId());
+        }
+        return vehicleByCleaner;
+    }
+}
@@ -0,0 +1,55 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.readmodel.CleanerSchedule;
+import com.justlife.cleaning.readmodel.CleanerView;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Team selection: all cleaners of a booking come from the same vehicle.
+ */
+final class CleanerSelection {
+
+    record Slot(LocalDateTime start, LocalDateTime end) {
+    }
+
+    private CleanerSelection() {
+    }
+
+    static List<CleanerView> selectFromOneVehicle(List<CleanerView> roster, Map<Long, CleanerSchedule> schedules,
+                                                  LocalDateTime start, LocalDateTime end, int requiredCount,
+                                                  int breakMinutes) {
+        return selectFromOneVehicle(roster, schedules, List.of(new Slot(start, end)), requiredCount, breakMinutes);
+    }
+
+    // The roster is ordered by vehicle, the first vehicle with enough cleaners free in every slot wins
+    static List<CleanerView> selectFromOneVehicle(List<CleanerView> roster, Map<Long, CleanerSchedule> schedules,
+                                                  List<Slot> slots, int requiredCount, int breakMinutes) {
+        Map<Long, List<CleanerView>> availableByVehicle = new LinkedHashMap<>();
+        for (CleanerView cleaner : roster) {
+            List<CleanerView> availableCleanersInVehicle =
+                    availableByVehicle.computeIfAbsent(cleaner.vehicleId(), k -> new ArrayList<>());
+
+            if (isFreeInEverySlot(schedules.get(cleaner.id()), slots, breakMinutes)) {
+                availableCleanersInVehicle.add(cleaner);
+            }
+        }
+
+        for (List<CleanerView> availableCleanersInVehicle : availableByVehicle.values()) {
+            if (availableCleanersInVehicle.size() >= requiredCount) {
+                return availableCleanersInVehicle.subList(0, requiredCount);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFreeInEverySlot(CleanerSchedule schedule, List<Slot> slots, int breakMinutes) {
+        for (Slot slot : slots) {
+            if (!schedule.isFree(slot.start(), slot.end(), breakMinutes)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.CleanerAvailabilityDto;
+import com.justlife.cleaning.repository.VehicleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Admin view over every zone. Each zone shard is evaluated by the regular single-zone
+ * path in its own read-only transaction, in parallel.
+ */
+@Service
+public class CrossZoneAvailabilityService {
+
+    private final BookingService bookingService;
+    private final VehicleRepository vehicleRepository;
+    private final ExecutorService shardExecutor;
+
+    public CrossZoneAvailabilityService(BookingService bookingService,
+                                        VehicleRepository vehicleRepository,
+                                        CleaningProperties properties) {
+        this.bookingService = bookingService;
+        this.vehicleRepository = vehicleRepository;
+        this.shardExecutor = Executors.newFixedThreadPool(properties.getZones().getShardParallelism(),
+                Thread.ofPlatform().name("zone-shard-", 0).daemon(true).factory());
+    }
+
+    public Map<String, List<CleanerAvailabilityDto>> checkAvailabilityAllZones(AvailabilityRequest request) {
+        Map<String, CompletableFuture<List<CleanerAvailabilityDto>>> shards = new LinkedHashMap<>();
+        for (String zone : vehicleRepository.findDistinctZones()) {
+            AvailabilityRequest shardRequest = AvailabilityRequest.builder()
+                    .date(request.getDate())
+                    .startTime(request.getStartTime())
+                    .duration(request.getDuration())
+                    .zone(zone)
+                    .build();
+            shards.put(zone, CompletableFuture.supplyAsync(
+                    () -> bookingService.checkAvailability(shardRequest), shardExecutor));
+        }
+
+        Map<String, List<CleanerAvailabilityDto>> result = new LinkedHashMap<>();
+        try {
+            shards.forEach((zone, shard) -> result.put(zone, shard.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shardExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,164 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.exception.BusinessException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduling policy of one zone on one date, compiled by {@link SchedulingPolicy}: the
+ * working hours, the durations on offer and every slot that can be offered, so requests
+ * look them up instead of redoing the time arithmetic.
+ */
+public final class DayPolicy {
+
+    public record Slot(LocalDateTime start, LocalDateTime end, int durationHours, String label) {
+    }
+
+    private final LocalDate date;
+    private final String closedReason;
+    private final LocalTime workStart;
+    private final LocalTime workEnd;
+    private final int breakMinutes;
+    private final List<Integer> durations;
+    private final String durationMessage;
+    private final int openSecond;
+    private final int closeSecond;
+    // Latest start in seconds of the day, indexed by duration in hours; -1 where the duration does not fit or is not offered
+    private final int[] latestStart;
+    private final LocalTime[] cellStarts;
+    private final List<Slot> slots;
+
+    private DayPolicy(LocalDate date, String closedReason, LocalTime workStart, LocalTime workEnd,
+                      List<Integer> durations, int breakMinutes) {
+        this.date = date;
+        this.closedReason = closedReason;
+        this.workStart = workStart;
+        this.workEnd = workEnd;
+        this.breakMinutes = breakMinutes;
+        this.durations = durations.stream().sorted().distinct().toList();
+        this.durationMessage = "Duration must be " + this.durations.stream().map(String::valueOf)
+                .collect(Collectors.joining(" or ")) + " hours.";
+
+        if (closedReason != null) {
+            this.openSecond = 0;
+            this.closeSecond = 0;
+            this.latestStart = new int[0];
+            this.cellStarts = new LocalTime[0];
+            this.slots = Collections.emptyList();
+            return;
+        }
+
+        this.openSecond = workStart.toSecondOfDay();
+        this.closeSecond = workEnd.toSecondOfDay();
+        this.latestStart = new int[this.durations.isEmpty() ? 0 : this.durations.get(this.durations.size() - 1) + 1];
+        Arrays.fill(latestStart, -1);
+        for (int duration : this.durations) {
+            int latest = closeSecond - duration * 3600;
+            if (latest >= openSecond) {
+                latestStart[duration] = latest;
+            }
+        }
+
+        int cells = (closeSecond - openSecond) / 60 / ScheduleGrid.CELL_MINUTES;
+        this.cellStarts = new LocalTime[cells];
+        List<Slot> offered = new ArrayList<>();
+        for (int cell = 0; cell < cells; cell++) {
+            LocalTime start = workStart.plusMinutes((long) cell * ScheduleGrid.CELL_MINUTES);
+            cellStarts[cell] = start;
+            for (int duration : this.durations) {
+                if (start.toSecondOfDay() <= latestStart[duration]) {
+                    LocalDateTime slotStart = LocalDateTime.of(date, start);
+                    offered.add(new Slot(slotStart, slotStart.plusHours(duration), duration, start + " (" + duration + "h)"));
+                }
+            }
+        }
+        this.slots = List.copyOf(offered);
+    }
+
+    static DayPolicy open(LocalDate date, LocalTime workStart, LocalTime workEnd, List<Integer> durations, int breakMinutes) {
+        if (!workEnd.isAfter(workStart)) {
+            throw new IllegalStateException("Working hours of " + date + " end at " + workEnd + ", before they start at " + workStart);
+        }
+        return new DayPolicy(date, null, workStart, workEnd, durations, breakMinutes);
+    }
+
+    static DayPolicy closed(LocalDate date, String reason, List<Integer> durations, int breakMinutes) {
+        return new DayPolicy(date, reason, null, null, durations, breakMinutes);
+    }
+
+    // Same checks and messages as a booking request, in the same order
+    public void validate(LocalTime time, Integer duration) {
+        if (closedReason != null) {
+            throw new BusinessException(closedReason);
+        }
+
+        if (time != null) {
+            if (time.toSecondOfDay() < openSecond) {
+                throw new BusinessException("Cannot start before " + workStart);
+            }
+            if (duration != null && time.toSecondOfDay() + duration * 3600L > closeSecond) {
+                throw new BusinessException("Must finish before " + workEnd);
+            }
+        }
+
+        if (duration != null && !durations.contains(duration)) {
+            throw new BusinessException(durationMessage);
+        }
+    }
+
+    public boolean fits(LocalTime start, int durationHours) {
+        if (durationHours <= 0 || durationHours >= latestStart.length) {
+            return false;
+        }
+        int second = start.toSecondOfDay();
+        return second >= openSecond && second <= latestStart[durationHours];
+    }
+
+    public boolean isOpen() {
+        return closedReason == null;
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public String closedReason() {
+        return closedReason;
+    }
+
+    public LocalTime workStart() {
+        return workStart;
+    }
+
+    public LocalTime workEnd() {
+        return workEnd;
+    }
+
+    public int breakMinutes() {
+        return breakMinutes;
+    }
+
+    public List<Integer> durations() {
+        return durations;
+    }
+
+    public int cellCount() {
+        return cellStarts.length;
+    }
+
+    public LocalTime cellStart(int cell) {
+        return cellStarts[cell];
+    }
+
+    // Ordered by start time, then duration
+    public List<Slot> slots() {
+        return slots;
+    }
+}
@@ -0,0 +1,34 @@
+package com.justlife.cleaning.service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The working day is handled as a grid of fixed 30 minute cells; every slot we offer
+ * starts on a cell boundary.
+ */
+public final class ScheduleGrid {
+
+    public static final int CELL_MINUTES = 30;
+
+    private ScheduleGrid() {
+    }
+
+    public static LocalTime floorToCell(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute();
+        return LocalTime.MIDNIGHT.plusMinutes(minutes - minutes % CELL_MINUTES);
+    }
+
+    // Start times of all cells touched by [start, end), on the date of start
+    public static List<LocalTime> cellsBetween(LocalDateTime start, LocalDateTime end) {
+        List<LocalTime> cells = new ArrayList<>();
+        LocalDateTime current = start.with(floorToCell(start.toLocalTime()));
+        while (current.isBefore(end) && current.toLocalDate().equals(start.toLocalDate())) {
+            cells.add(current.toLocalTime());
+            current = current.plusMinutes(CELL_MINUTES);
+        }
+        return cells;
+    }
+}
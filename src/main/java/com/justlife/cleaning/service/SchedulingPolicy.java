@@ -0,0 +1,119 @@
+package com.justlife.cleaning.service;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.*;
+
+/**
+ * Working hours, closed days, durations and breaks shared by every path that creates,
+ * moves or offers bookings. The configured rules are compiled into one {@link DayPolicy}
+ * per zone and date on startup, so a request costs an array lookup however many rules
+ * there are.
+ */
+@Component
+public class SchedulingPolicy {
+
+    private final CleaningProperties.Schedule settings;
+    private final CleaningProperties.Zones zones;
+    private final Map<String, CleaningProperties.Schedule.Hours> zoneHours = new HashMap<>();
+    private final long firstCompiledDay;
+    private final DayPolicy[] defaultTable;
+    // Only zones with their own hours or date rules get a table, all others share the default one
+    private final Map<String, DayPolicy[]> zoneTables = new HashMap<>();
+
+    public SchedulingPolicy(CleaningProperties properties) {
+        this.settings = properties.getSchedule();
+        this.zones = properties.getZones();
+        settings.getZoneHours().forEach((zone, hours) -> zoneHours.put(zones.resolve(zone), hours));
+
+        this.firstCompiledDay = LocalDate.now().toEpochDay();
+        this.defaultTable = compileTable(null);
+        Set<String> zonesWithRules = new HashSet<>(zoneHours.keySet());
+        for (CleaningProperties.Schedule.DateRule rule : settings.getDateRules()) {
+            if (rule.getZone() != null && !rule.getZone().isBlank()) {
+                zonesWithRules.add(zones.resolve(rule.getZone()));
+            }
+        }
+        zonesWithRules.forEach(zone -> zoneTables.put(zone, compileTable(zone)));
+    }
+
+    public DayPolicy day(String zone, LocalDate date) {
+        DayPolicy[] table = zone == null ? defaultTable : zoneTables.getOrDefault(zone, defaultTable);
+        long index = date.toEpochDay() - firstCompiledDay;
+        if (index >= 0 && index < table.length) {
+            return table[(int) index];
+        }
+        return compile(table == defaultTable ? null : zone, date);
+    }
+
+    // Throws the same BusinessException messages request validation always had
+    public DayPolicy validate(String zone, LocalDate date, LocalTime time, Integer duration) {
+        DayPolicy day = day(zone, date);
+        day.validate(time, duration);
+        return day;
+    }
+
+    public int breakMinutes() {
+        return settings.getBreakMinutes();
+    }
+
+    public boolean isClosedEvery(DayOfWeek dayOfWeek) {
+        return settings.getClosedDays().contains(dayOfWeek);
+    }
+
+    public String closedMessage(DayOfWeek dayOfWeek) {
+        return "We do not work on " + dayOfWeek.getDisplayName(TextStyle.FULL, Locale.ENGLISH) + "s.";
+    }
+
+    private DayPolicy[] compileTable(String zone) {
+        DayPolicy[] table = new DayPolicy[settings.getCompiledDays()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = compile(zone, LocalDate.ofEpochDay(firstCompiledDay + i));
+        }
+        return table;
+    }
+
+    private DayPolicy compile(String zone, LocalDate date) {
+        LocalTime start = settings.getWorkStart();
+        LocalTime end = settings.getWorkEnd();
+        List<Integer> durations = settings.getDurations();
+        String closedReason = isClosedEvery(date.getDayOfWeek()) ? closedMessage(date.getDayOfWeek()) : null;
+
+        CleaningProperties.Schedule.Hours hours = zone != null ? zoneHours.get(zone) : null;
+        if (hours != null) {
+            start = hours.getStart() != null ? hours.getStart() : start;
+            end = hours.getEnd() != null ? hours.getEnd() : end;
+        }
+
+        for (CleaningProperties.Schedule.DateRule rule : settings.getDateRules()) {
+            if (!appliesTo(rule, zone, date)) {
+                continue;
+            }
+            if (rule.isClosed()) {
+                closedReason = "We do not work on " + date + (rule.getReason() != null ? " (" + rule.getReason() + ")" : "") + ".";
+            } else {
+                closedReason = null;
+                start = rule.getStart() != null ? rule.getStart() : start;
+                end = rule.getEnd() != null ? rule.getEnd() : end;
+                durations = rule.getDurations() != null ? rule.getDurations() : durations;
+            }
+        }
+
+        return closedReason != null
+                ? DayPolicy.closed(date, closedReason, durations, settings.getBreakMinutes())
+                : DayPolicy.open(date, start, end, durations, settings.getBreakMinutes());
+    }
+
+    private boolean appliesTo(CleaningProperties.Schedule.DateRule rule, String zone, LocalDate date) {
+        LocalDate to = rule.getTo() != null ? rule.getTo() : rule.getFrom();
+        if (date.isBefore(rule.getFrom()) || date.isAfter(to)) {
+            return false;
+        }
+        return rule.getZone() == null || rule.getZone().isBlank() || zones.resolve(rule.getZone()).equals(zone);
+    }
+}
@@ -0,0 +1,37 @@
+package com.justlife.cleaning.service;
+
+import java.util.List;
+
+/**
+ * Bit mask arithmetic over the cells of one working day, bit i standing for cell i.
+ */
+final class TeamAvailability {
+
+    private TeamAvailability() {
+    }
+
+    // Bit c is set when cells c .. c + length - 1 are all free and the run ends inside the day
+    static long startMask(long freeMask, int length, int dayCells) {
+        if (length > dayCells) {
+            return 0;
+        }
+        long starts = freeMask;
+        for (int shift = 1; shift < length; shift++) {
+            starts &= freeMask >>> shift;
+        }
+        int validStarts = dayCells - length + 1;
+        return validStarts == Long.SIZE ? starts : starts & ((1L << validStarts) - 1);
+    }
+
+    // Bits set in at least `required` of the masks, using a bit-sliced counter per threshold
+    static long atLeast(List<Long> masks, int required) {
+        long[] reached = new long[required + 1];
+        reached[0] = -1L;
+        for (long mask : masks) {
+            for (int count = required; count >= 1; count--) {
+                reached[count] |= reached[count - 1] & mask;
+            }
+        }
+        return reached[required];
+    }
+}
@@ -0,0 +1,246 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.AvailabilityDeltaDto;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.event.BookingsImportedEvent;
+import com.justlife.cleaning.service.AvailabilityStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityStreamServiceTest {
+
+    @Test
+    void toDeltas_ShouldReportTakenCellsPerCleaner_ForCreatedBooking() {
+        BookingChangedEvent event = BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.CREATED)
+                .bookingId(1L)
+                .cleanerIds(List.of(1L, 2L))
+                .start(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .end(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .build();
+
+        List<AvailabilityDeltaDto> deltas = AvailabilityStreamService.toDeltas(event);
+
+        assertEquals(2, deltas.size());
+        assertEquals(LocalDate.of(2023, 11, 23), deltas.get(0).getDate());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30), LocalTime.of(11, 0), LocalTime.of(11, 30)),
+                deltas.get(0).getTakenCells());
+        assertTrue(deltas.get(0).getFreedCells().isEmpty());
+    }
+
+    @Test
+    void toDeltas_ShouldOnlyReportNetChange_WhenRescheduledOnSameDate() {
+        BookingChangedEvent event = BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.RESCHEDULED)
+                .bookingId(1L)
+                .cleanerIds(List.of(1L))
+                .previousStart(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .previousEnd(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .start(LocalDateTime.of(2023, 11, 23, 11, 0))
+                .end(LocalDateTime.of(2023, 11, 23, 13, 0))
+                .build();
+
+        List<AvailabilityDeltaDto> deltas = AvailabilityStreamService.toDeltas(event);
+
+        assertEquals(1, deltas.size());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30)), deltas.get(0).getFreedCells());
+        assertEquals(List.of(LocalTime.of(12, 0), LocalTime.of(12, 30)), deltas.get(0).getTakenCells());
+    }
+
+    @Test
+    void toDeltas_ShouldFreeOldTeamAndTakeNewTeam_WhenReassigned() {
+        BookingChangedEvent event = BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.RESCHEDULED)
+                .bookingId(1L)
+                .cleanerIds(List.of(2L))
+                .previousCleanerIds(List.of(1L))
+                .previousStart(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .previousEnd(LocalDateTime.of(2023, 11, 23, 11, 0))
+                .start(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .end(LocalDateTime.of(2023, 11, 23, 11, 0))
+                .build();
+
+        List<AvailabilityDeltaDto> deltas = AvailabilityStreamService.toDeltas(event);
+
+        assertEquals(2, deltas.size());
+        assertEquals(1L, deltas.get(0).getCleanerId());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30)), deltas.get(0).getFreedCells());
+        assertTrue(deltas.get(0).getTakenCells().isEmpty());
+        assertEquals(2L, deltas.get(1).getCleanerId());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30)), deltas.get(1).getTakenCells());
+    }
+
+    @Test
+    void toDeltas_ShouldSplitByDate_WhenMovedToAnotherDay() {
+        BookingChangedEvent event = BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.RESCHEDULED)
+                .bookingId(1L)
+                .cleanerIds(List.of(1L))
+                .previousStart(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .previousEnd(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .start(LocalDateTime.of(2023, 11, 25, 10, 0))
+                .end(LocalDateTime.of(2023, 11, 25, 12, 0))
+                .build();
+
+        List<AvailabilityDeltaDto> deltas = AvailabilityStreamService.toDeltas(event);
+
+        assertEquals(2, deltas.size());
+        assertEquals(4, deltas.get(0).getFreedCells().size());
+        assertEquals(4, deltas.get(1).getTakenCells().size());
+    }
+
+    @Test
+    void toDeltas_ShouldMergeImportedDayIntoOneDeltaPerCleaner() {
+        LocalDate date = LocalDate.of(2023, 11, 23);
+        BookingsImportedEvent event = BookingsImportedEvent.builder()
+                .zone("DXB")
+                .date(date)
+                .bookings(List.of(
+                        BookingChangedEvent.builder()
+                                .type(BookingChangedEvent.Type.CREATED)
+                                .bookingId(1L)
+                                .cleanerIds(List.of(1L, 2L))
+                                .start(date.atTime(10, 0))
+                                .end(date.atTime(11, 0))
+                                .build(),
+                        BookingChangedEvent.builder()
+                                .type(BookingChangedEvent.Type.CREATED)
+                                .bookingId(2L)
+                                .cleanerIds(List.of(1L))
+                                .start(date.atTime(14, 0))
+                                .end(date.atTime(15, 0))
+                                .build()))
+                .build();
+
+        List<AvailabilityDeltaDto> deltas = AvailabilityStreamService.toDeltas(event);
+
+        assertEquals(2, deltas.size());
+        assertEquals(1L, deltas.get(0).getCleanerId());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30), LocalTime.of(14, 0), LocalTime.of(14, 30)),
+                deltas.get(0).getTakenCells());
+        assertEquals(2L, deltas.get(1).getCleanerId());
+        assertEquals(2, deltas.get(1).getTakenCells().size());
+    }
+
+    @Test
+    void publish_ShouldDropOverflowedSubscribers_WhileTheyAreStillStalled() throws Exception {
+        CleaningProperties properties = new CleaningProperties();
+        properties.getAvailabilityStream().setSubscriberBuffer(8);
+        properties.getAvailabilityStream().setDispatchThreads(3);
+        properties.getAvailabilityStream().setWriteTimeout(Duration.ofMinutes(1));
+        CountDownLatch unstall = new CountDownLatch(1);
+        CountingEmitter fast = new CountingEmitter(new CountDownLatch(0));
+        AvailabilityStreamService service = serviceWith(properties,
+                new CountingEmitter(unstall), new CountingEmitter(unstall), fast);
+
+        try {
+            // The stalled buffers overflow on the fifth round, long before the write timeout
+            for (int round = 1; round <= 6; round++) {
+                BookingChangedEvent event = createdEvent(round);
+                assertTimeoutPreemptively(Duration.ofSeconds(1), () -> service.onBookingChanged(event));
+                awaitSent(fast, round * 2);
+            }
+
+            assertEquals(1, service.getSubscriberCount());
+        } finally {
+            unstall.countDown();
+        }
+    }
+
+    @Test
+    void publish_ShouldDropStalledSubscribers_AfterWriteTimeout_SoFastSubscriberKeepsUp() throws Exception {
+        CleaningProperties properties = new CleaningProperties();
+        properties.getAvailabilityStream().setSubscriberBuffer(256);
+        properties.getAvailabilityStream().setDispatchThreads(2);
+        properties.getAvailabilityStream().setWriteTimeout(Duration.ofMillis(100));
+        CountDownLatch unstall = new CountDownLatch(1);
+        CountingEmitter stalled = new CountingEmitter(unstall);
+        CountingEmitter alsoStalled = new CountingEmitter(unstall);
+        CountingEmitter fast = new CountingEmitter(new CountDownLatch(0));
+        AvailabilityStreamService service = serviceWith(properties, stalled, alsoStalled, fast);
+
+        try {
+            // Both dispatcher threads may block on the stalled clients until the watchdog interrupts them
+            for (int round = 1; round <= 6; round++) {
+                BookingChangedEvent event = createdEvent(round);
+                assertTimeoutPreemptively(Duration.ofSeconds(1), () -> service.onBookingChanged(event));
+                awaitSent(fast, round * 2);
+            }
+
+            assertEquals(1, service.getSubscriberCount());
+            assertEquals(0, stalled.sent.get());
+            assertEquals(0, alsoStalled.sent.get());
+        } finally {
+            unstall.countDown();
+        }
+    }
+
+    private static AvailabilityStreamService serviceWith(CleaningProperties properties, SseEmitter... emitters) {
+        Deque<SseEmitter> pending = new ArrayDeque<>(List.of(emitters));
+        AvailabilityStreamService service = new AvailabilityStreamService(properties) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMillis) {
+                return pending.pop();
+            }
+        };
+        for (int i = 0; i < emitters.length; i++) {
+            service.subscribe();
+        }
+        return service;
+    }
+
+    // Two deltas per booking, one for each cleaner
+    private static BookingChangedEvent createdEvent(int round) {
+        return BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.CREATED)
+                .bookingId((long) round)
+                .cleanerIds(List.of(1L, 2L))
+                .start(LocalDateTime.of(2023, 11, 23, 8 + round, 0))
+                .end(LocalDateTime.of(2023, 11, 23, 9 + round, 0))
+                .build();
+    }
+
+    private static void awaitSent(CountingEmitter emitter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (emitter.sent.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, emitter.sent.get());
+    }
+
+    // Counts the events it is handed; a closed latch stands in for a client that stopped reading
+    private static final class CountingEmitter extends SseEmitter {
+        private final CountDownLatch readable;
+        private final AtomicInteger sent = new AtomicInteger();
+
+        private CountingEmitter(CountDownLatch readable) {
+            super(0L);
+            this.readable = readable;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                readable.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.incrementAndGet();
+        }
+    }
+}
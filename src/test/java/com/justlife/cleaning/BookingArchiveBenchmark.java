@@ -0,0 +1,133 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.readmodel.CleanerView;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import com.justlife.cleaning.service.BookingArchiveService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latency of the hot conflict query while history grows, once with history left in the
+ * booking table and once with it archived. Sizes are configurable, e.g.
+ * ./gradlew benchmark --tests '*BookingArchiveBenchmark' -Dbenchmark.historyRows=1000000,10000000,30000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "cleaning.archive.cron=-",
+        "cleaning.archive.batch-size=10000"
+})
+class BookingArchiveBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+    private static final int WARMUP_QUERIES = 200;
+    private static final int MEASURED_QUERIES = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    private long nextId = 1_000_000_000L;
+
+    @Test
+    void conflictQueryLatency_WithAndWithoutArchival() {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.historyRows", "100000,1000000").split(","))
+                .mapToLong(size -> Long.parseLong(size.trim()))
+                .toArray();
+        List<Long> cleanerIds = cleanerRepository.findRosterByZone("DXB").stream().map(CleanerView::id).toList();
+        seedCurrentWindow(cleanerIds);
+
+        List<String> results = new ArrayList<>();
+        results.add("mode,historyRows,p50Micros,p99Micros");
+
+        long seeded = 0;
+        for (long size : sizes) {
+            seedHistory(cleanerIds, size - seeded);
+            seeded = size;
+            bookingArchiveService.archiveBookingsEndingBefore(LocalDate.now().atStartOfDay());
+            results.add(measure("archived", size, cleanerIds));
+        }
+
+        seeded = 0;
+        for (long size : sizes) {
+            seedHistory(cleanerIds, size - seeded);
+            seeded = size;
+            results.add(measure("hot", size, cleanerIds));
+        }
+
+        LatencyRecorder.writeReport("booking-archive.csv", results);
+    }
+
+    private String measure(String mode, long historyRows, List<Long> cleanerIds) {
+        Random random = new Random(42);
+        LatencyRecorder recorder = new LatencyRecorder(MEASURED_QUERIES);
+        for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+            LocalDateTime start = LocalDate.now().plusDays(1 + random.nextInt(30)).atTime(8 + random.nextInt(12), 0);
+            long began = System.nanoTime();
+            bookingRepository.findConflictingBookings("DXB", cleanerIds, start.minusMinutes(30), start.plusHours(2).plusMinutes(30));
+            if (i >= WARMUP_QUERIES) {
+                recorder.record(System.nanoTime() - began);
+            }
+        }
+        return mode + "," + historyRows + "," + recorder.percentileMicros(50) + "," + recorder.percentileMicros(99);
+    }
+
+    private void seedCurrentWindow(List<Long> cleanerIds) {
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+        for (int day = 1; day <= 30; day++) {
+            for (int slot = 0; slot < cleanerIds.size(); slot++) {
+                LocalDateTime start = LocalDate.now().plusDays(day).atTime(8 + slot % 12, 0);
+                addBooking(bookings, links, start, cleanerIds.get(slot));
+            }
+        }
+        flush(bookings, links);
+    }
+
+    private void seedHistory(List<Long> cleanerIds, long rows) {
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+        for (long i = 0; i < rows; i++) {
+            LocalDateTime start = LocalDate.now().minusDays(8 + i % 3650).atTime(8 + (int) (i % 12), 0);
+            addBooking(bookings, links, start, cleanerIds.get((int) (i % cleanerIds.size())));
+            if (bookings.size() == INSERT_BATCH) {
+                flush(bookings, links);
+            }
+        }
+        flush(bookings, links);
+    }
+
+    private void addBooking(List<Object[]> bookings, List<Object[]> links, LocalDateTime start, Long cleanerId) {
+        long id = nextId++;
+        bookings.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), 2, "DXB", "Benchmark"});
+        links.add(new Object[]{id, cleanerId});
+    }
+
+    private void flush(List<Object[]> bookings, List<Object[]> links) {
+        jdbcTemplate.batchUpdate("INSERT INTO booking (id, start_date_time, end_date_time, duration_hours, zone, status, customer_name) " +
+                "VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO booking_cleaner (booking_id, cleaner_id) VALUES (?, ?)", links);
+        bookings.clear();
+        links.clear();
+    }
+}
@@ -0,0 +1,186 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.dto.BookingRequest;
+import com.justlife.cleaning.dto.BookingUpdateRequest;
+import com.justlife.cleaning.entity.BookingAudit;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.repository.BookingAuditRepository;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.service.BookingAuditTrail;
+import com.justlife.cleaning.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingAuditTrailTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2096, 5, 14);
+    private static final long SYNTHETIC_BOOKING_ID = -4242L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingAuditTrail bookingAuditTrail;
+
+    @Autowired
+    private BookingAuditRepository bookingAuditRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        bookingIds.add(SYNTHETIC_BOOKING_ID);
+        bookingIds.forEach(id -> bookingAuditRepository.deleteAll(bookingAuditRepository.findByBookingId(id)));
+        bookingIds.stream().filter(id -> id > 0).forEach(bookingRepository::deleteById);
+    }
+
+    @Test
+    void createAndUpdate_ShouldBeAuditedAfterCommit_WithActorAndPreviousTime() throws Exception {
+        String created = mockMvc.perform(post("/api/bookings")
+                        .header("X-Client-Id", "ops-alice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingRequest.builder()
+                                .date(MONDAY)
+                                .startTime(LocalTime.of(10, 0))
+                                .duration(2)
+                                .cleanerCount(1)
+                                .customerName("Audited Customer")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long bookingId = objectMapper.readTree(created).get("id").asLong();
+        bookingIds.add(bookingId);
+
+        mockMvc.perform(put("/api/bookings/{id}", bookingId)
+                        .header("X-Client-Id", "ops-bob")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingUpdateRequest.builder()
+                                .date(MONDAY)
+                                .startTime(LocalTime.of(14, 0))
+                                .build())))
+                .andExpect(status().isOk());
+
+        List<BookingAudit> trail = awaitRecords(bookingId, 2);
+
+        assertThat(trail.get(0).getType()).isEqualTo(BookingChangedEvent.Type.CREATED);
+        assertThat(trail.get(0).getActor()).isEqualTo("ops-alice");
+        assertThat(trail.get(0).getStartDateTime()).isEqualTo(MONDAY.atTime(10, 0));
+        assertThat(trail.get(1).getType()).isEqualTo(BookingChangedEvent.Type.RESCHEDULED);
+        assertThat(trail.get(1).getActor()).isEqualTo("ops-bob");
+        assertThat(trail.get(1).getPreviousStartDateTime()).isEqualTo(MONDAY.atTime(10, 0));
+        assertThat(trail.get(1).getStartDateTime()).isEqualTo(MONDAY.atTime(14, 0));
+        assertThat(meterRegistry.get("cleaning.audit.flush").timer().count()).isPositive();
+    }
+
+    @Test
+    void stop_ShouldDrainQueuedRecords() {
+        int records = 2000;
+        for (int i = 0; i < records; i++) {
+            bookingAuditTrail.onBookingChanged(BookingChangedEvent.builder()
+                    .type(BookingChangedEvent.Type.CREATED)
+                    .bookingId(SYNTHETIC_BOOKING_ID)
+                    .cleanerIds(List.of(1L))
+                    .start(MONDAY.atTime(8, 0))
+                    .end(MONDAY.atTime(10, 0))
+                    .build());
+        }
+
+        bookingAuditTrail.stop();
+        try {
+            List<BookingAudit> trail = bookingAuditRepository.findByBookingId(SYNTHETIC_BOOKING_ID);
+            assertThat(trail).hasSize(records);
+            assertThat(trail).allMatch(record -> BookingAuditTrail.SYSTEM_ACTOR.equals(record.getActor()));
+            assertThat(meterRegistry.get("cleaning.audit.queue.depth").gauge().value()).isZero();
+        } finally {
+            bookingAuditTrail.start();
+        }
+    }
+
+    @Test
+    void committedBooking_ShouldBeAuditedByCommittingThread_WhenWriterIsStopped() {
+        bookingAuditTrail.stop();
+        try {
+            Long bookingId = bookingService.createBooking(BookingRequest.builder()
+                    .date(MONDAY)
+                    .startTime(LocalTime.of(16, 0))
+                    .duration(2)
+                    .cleanerCount(1)
+                    .customerName("Audited Without Writer")
+                    .build()).getId();
+            bookingIds.add(bookingId);
+
+            List<BookingAudit> trail = bookingAuditRepository.findByBookingId(bookingId);
+            assertThat(trail).hasSize(1);
+            assertThat(trail.get(0).getType()).isEqualTo(BookingChangedEvent.Type.CREATED);
+            assertThat(trail.get(0).getActor()).isEqualTo(BookingAuditTrail.SYSTEM_ACTOR);
+        } finally {
+            bookingAuditTrail.start();
+        }
+    }
+
+    @Test
+    void writer_ShouldSkipRecordThatCannotBeWritten_AndKeepWritingTheRest() throws Exception {
+        double failedBefore = meterRegistry.get("cleaning.audit.failed").counter().count();
+        // No booking id violates the column constraint, so this record can never be written
+        bookingAuditTrail.onBookingChanged(BookingChangedEvent.builder()
+                .type(BookingChangedEvent.Type.CREATED)
+                .cleanerIds(List.of(1L))
+                .start(MONDAY.atTime(8, 0))
+                .end(MONDAY.atTime(10, 0))
+                .build());
+        for (int i = 0; i < 3; i++) {
+            bookingAuditTrail.onBookingChanged(BookingChangedEvent.builder()
+                    .type(BookingChangedEvent.Type.CREATED)
+                    .bookingId(SYNTHETIC_BOOKING_ID)
+                    .cleanerIds(List.of(1L))
+                    .start(MONDAY.atTime(8, 0))
+                    .end(MONDAY.atTime(10, 0))
+                    .build());
+        }
+
+        awaitRecords(SYNTHETIC_BOOKING_ID, 3);
+        assertThat(meterRegistry.get("cleaning.audit.failed").counter().count()).isEqualTo(failedBefore + 1);
+    }
+
+    private List<BookingAudit> awaitRecords(Long bookingId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        List<BookingAudit> trail = bookingAuditRepository.findByBookingId(bookingId);
+        while (trail.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            trail = bookingAuditRepository.findByBookingId(bookingId);
+        }
+        assertThat(trail).hasSize(expected);
+        return trail;
+    }
+}
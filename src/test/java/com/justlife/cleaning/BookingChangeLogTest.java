@@ -0,0 +1,130 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.dto.BookingRequest;
+import com.justlife.cleaning.entity.BookingChange;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.repository.BookingChangeRepository;
+import com.justlife.cleaning.service.AvailabilityStreamService;
+import com.justlife.cleaning.service.AvailabilityVersionTracker;
+import com.justlife.cleaning.service.BookingChangeLog;
+import com.justlife.cleaning.service.BookingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Two application contexts on one shared H2 database stand in for two nodes
+class BookingChangeLogTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2097, 3, 4);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:mem:change-log-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL";
+        nodeA = startNode("node-a", url);
+        nodeB = startNode("node-b", url);
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String url) {
+        return new SpringApplicationBuilder(CleaningApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.main.banner-mode=off",
+                        "cleaning.change-log.node-id=" + nodeId,
+                        "cleaning.change-log.poll-interval=50ms")
+                .run();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void bookingOnOneNode_ShouldInvalidateTheOtherNode() throws InterruptedException {
+        AvailabilityVersionTracker trackerA = nodeA.getBean(AvailabilityVersionTracker.class);
+        AvailabilityVersionTracker trackerB = nodeB.getBean(AvailabilityVersionTracker.class);
+        // The first poll only positions a node at the end of the log
+        nodeA.getBean(BookingChangeLog.class).poll();
+        nodeB.getBean(BookingChangeLog.class).poll();
+        long versionA = trackerA.currentVersion(null, MONDAY);
+        long versionB = trackerB.currentVersion(null, MONDAY);
+
+        nodeA.getBean(BookingService.class).createBooking(BookingRequest.builder()
+                .date(MONDAY)
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Doe, Jane")
+                .build());
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (trackerB.currentVersion(null, MONDAY) == versionB && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(trackerB.currentVersion(null, MONDAY)).isEqualTo(versionB + 1);
+
+        // The writing node applied the change on commit and must not replay its own row
+        nodeA.getBean(BookingChangeLog.class).poll();
+        assertThat(trackerA.currentVersion(null, MONDAY)).isEqualTo(versionA + 1);
+    }
+
+    @Test
+    void poll_ShouldReadNewRowsAfterHighestApplied_AndRecheckGapsById() {
+        BookingChangeRepository repository = mock(BookingChangeRepository.class);
+        CleaningProperties properties = new CleaningProperties();
+        AvailabilityVersionTracker tracker = new AvailabilityVersionTracker(properties);
+        BookingChangeLog changeLog = new BookingChangeLog(repository, tracker, mock(AvailabilityStreamService.class),
+                properties, mock(PlatformTransactionManager.class));
+        when(repository.findLatestId()).thenReturn(10L);
+        when(repository.findAfter(eq(10L), any())).thenReturn(List.of(remoteChange(12)));
+        when(repository.findAfter(eq(12L), any())).thenReturn(List.of(remoteChange(13)));
+        when(repository.findByIds(Set.of(11L))).thenReturn(List.of(), List.of(remoteChange(11)));
+        changeLog.poll();
+
+        assertThat(changeLog.poll()).isEqualTo(1);
+        // Id 11 is still open, yet the next poll starts after 12 instead of re-reading it
+        assertThat(changeLog.poll()).isEqualTo(1);
+        verify(repository).findAfter(eq(12L), any());
+        assertThat(changeLog.poll()).isEqualTo(1);
+        verify(repository).findAfter(eq(13L), any());
+
+        assertThat(tracker.currentVersion(null, MONDAY)).isEqualTo(3);
+    }
+
+    private static BookingChange remoteChange(long id) {
+        return BookingChange.builder()
+                .id(id)
+                .type(BookingChangedEvent.Type.CREATED)
+                .bookingId(id)
+                .originNode("another-node")
+                .cleanerIds("1")
+                .startDateTime(MONDAY.atTime(10, 0))
+                .endDateTime(MONDAY.atTime(12, 0))
+                .changedAt(Instant.now())
+                .build();
+    }
+}
@@ -7,16 +7,25 @@ import com.justlife.cleaning.dto.BookingUpdateRequest;
 import com.justlife.cleaning.entity.Booking;
 import com.justlife.cleaning.entity.Cleaner;
 import com.justlife.cleaning.entity.Vehicle;
+import com.justlife.cleaning.event.BookingChangedEvent;
+import com.justlife.cleaning.repository.ArchivedBookingRepository;
+import com.justlife.cleaning.repository.BookingChangeRepository;
 import com.justlife.cleaning.repository.BookingRepository;
 import com.justlife.cleaning.repository.CleanerRepository;
 import com.justlife.cleaning.repository.VehicleRepository;
+import com.justlife.cleaning.service.AvailabilityVersionTracker;
+import com.justlife.cleaning.service.BookingArchiveService;
+import com.justlife.cleaning.service.CapacityHeatmapService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
@@ -27,8 +36,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,11 +61,30 @@ class BookingControllerIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private CapacityHeatmapService capacityHeatmapService;
+
+    @Autowired
+    private AvailabilityVersionTracker availabilityVersionTracker;
+
+    @Autowired
+    private BookingChangeRepository bookingChangeRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setup() {
+        // Tests that need a real commit run outside the test transaction and use the seeded fleet
+        if (!TestTransaction.isActive()) {
+            return;
+        }
         bookingRepository.deleteAll();
         cleanerRepository.deleteAll();
         vehicleRepository.deleteAll();
@@ -114,6 +145,100 @@ class BookingControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAvailability_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+
+        String etag = mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString())
+                        .param("startTime", "10:00")
+                        .param("duration", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString())
+                        .param("startTime", "10:00")
+                        .param("duration", "2")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getAvailability_ShouldChangeEtag_OnlyForTheDateOfACommittedBooking() throws Exception {
+        LocalDate date = LocalDate.of(2095, 3, 7);
+        LocalDate otherDate = date.plusDays(1);
+        String etag = availabilityEtag(date);
+        String otherEtag = availabilityEtag(otherDate);
+
+        String created = mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingRequest.builder()
+                                .date(date)
+                                .startTime(LocalTime.of(10, 0))
+                                .duration(2)
+                                .cleanerCount(1)
+                                .customerName("Etag Customer")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        try {
+            mockMvc.perform(get("/api/bookings/availability")
+                            .param("date", date.toString())
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)));
+
+            mockMvc.perform(get("/api/bookings/availability")
+                            .param("date", otherDate.toString())
+                            .header("If-None-Match", otherEtag))
+                    .andExpect(status().isNotModified());
+        } finally {
+            bookingRepository.deleteById(objectMapper.readTree(created).get("id").asLong());
+        }
+    }
+
+    private String availabilityEtag(LocalDate date) throws Exception {
+        return mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+    }
+
+    @Test
+    void getAvailability_ShouldScopeEtagToZone() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+
+        String etag = mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // A change in another zone leaves this zone's tag valid
+        availabilityVersionTracker.bump("AUH", date);
+        mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/bookings/availability")
+                        .param("date", date.toString())
+                        .param("zone", "auh")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
     @Test
     void createBooking_ShouldCreateBooking_WhenValidRequestAndCleanersAvailable() throws Exception {
         LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
@@ -142,6 +267,188 @@ class BookingControllerIntegrationTest {
         assertThat(booking.getCleaners()).hasSize(2);
     }
 
+    @Test
+    void importBookings_ShouldStoreValidRowsAndReportRejects() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        String csv = String.join("\n",
+                "date,startTime,duration,cleanerCount,customerName",
+                date + ",10:00,2,2,\"Doe, Jane\"",
+                date + ",10:30,2,1,Overlapping Row",
+                nextFriday(date) + ",10:00,2,1,Friday Row",
+                date + ",16:00,x,1,Malformed Row");
+
+        mockMvc.perform(post("/api/bookings/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.rejectedRows").value(3))
+                .andExpect(jsonPath("$.rejects.length()").value(3));
+
+        List<Booking> all = bookingRepository.findAll();
+        assertThat(all).hasSize(1);
+        assertThat(all.get(0).getCustomerName()).isEqualTo("Doe, Jane");
+        assertThat(all.get(0).getCleaners()).hasSize(2);
+    }
+
+    @Test
+    void reconcileHeatmap_ShouldRejectArchivedDaysAndInvertedRanges() throws Exception {
+        LocalDate archived = LocalDate.now().minusDays(30);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        mockMvc.perform(post("/api/admin/heatmap/reconcile")
+                        .param("from", archived.toString())
+                        .param("to", tomorrow.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/heatmap/reconcile")
+                        .param("from", tomorrow.toString())
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/heatmap/reconcile")
+                        .param("from", tomorrow.toString())
+                        .param("to", tomorrow.plusYears(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/heatmap/reconcile")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", tomorrow.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void importBookings_ShouldRejectRow_WhenCleanerIsListedTwice() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        List<Cleaner> cleaners = cleanerRepository.findAll();
+        Long first = cleaners.get(0).getId();
+        Long second = cleaners.get(1).getId();
+        String csv = String.join("\n",
+                "date,startTime,duration,cleanerCount,customerName,cleanerIds",
+                date + ",10:00,2,2,Duplicate Team," + first + ";" + first,
+                date + ",14:00,2,2,Valid Team," + first + ";" + second);
+
+        mockMvc.perform(post("/api/bookings/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.rejectedRows").value(1))
+                .andExpect(jsonPath("$.rejects[0].line").value(2))
+                .andExpect(jsonPath("$.rejects[0].reason").value("Cleaner " + first + " is listed more than once."));
+
+        List<Booking> all = bookingRepository.findAll();
+        assertThat(all).hasSize(1);
+        assertThat(all.get(0).getCustomerName()).isEqualTo("Valid Team");
+        assertThat(all.get(0).getCleaners()).hasSize(2);
+    }
+
+    @Test
+    void importBookings_ShouldLoadUnsortedDaysAndAnnounceEachDayOnce() throws Exception {
+        LocalDate first = nextNonFriday(LocalDate.now().plusDays(1));
+        LocalDate second = nextNonFriday(first.plusDays(1));
+        String csv = String.join("\n",
+                "date,startTime,duration,cleanerCount,customerName",
+                second + ",10:00,2,1,Second Day A",
+                first + ",10:00,2,1,First Day",
+                second + ",14:00,2,1,Second Day B");
+
+        mockMvc.perform(post("/api/bookings/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(3));
+
+        mockMvc.perform(get("/api/admin/heatmap")
+                        .param("from", first.toString())
+                        .param("to", second.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(12));
+        assertThat(capacityHeatmapService.reconcile(first, second)).isZero();
+
+        assertThat(bookingChangeRepository.findAll().stream()
+                .filter(change -> change.getType() == BookingChangedEvent.Type.IMPORTED)
+                .map(change -> change.getStartDateTime().toLocalDate()))
+                .containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void heatmap_ShouldCountBookedCleanerCells_AndReconcileWithoutDrift() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+
+        BookingRequest request = BookingRequest.builder()
+                .date(date)
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(2)
+                .customerName("Heatmap Customer")
+                .build();
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/admin/heatmap")
+                        .param("from", date.toString())
+                        .param("to", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].cellStart").value("10:00:00"))
+                .andExpect(jsonPath("$[0].bookedCleanerHours").value(1.0))
+                .andExpect(jsonPath("$[3].cellStart").value("11:30:00"));
+
+        assertThat(capacityHeatmapService.reconcile(date, date)).isZero();
+    }
+
+    @Test
+    void heatmap_ShouldKeepCountsOnBookingVehicle_WhenCleanerMovesBeforeReschedule() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        String created = mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingRequest.builder()
+                                .date(date)
+                                .startTime(LocalTime.of(10, 0))
+                                .duration(2)
+                                .cleanerCount(1)
+                                .customerName("Moving Cleaner Customer")
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Booking booking = bookingRepository.findById(objectMapper.readTree(created).get("id").asLong()).orElseThrow();
+        Long originalVehicleId = booking.getVehicleId();
+        assertThat(originalVehicleId).isNotNull();
+
+        Vehicle otherVehicle = vehicleRepository.save(Vehicle.builder()
+                .licencePlate("TEST-002")
+                .cleaners(new ArrayList<>())
+                .build());
+        Cleaner cleaner = booking.getCleaners().get(0);
+        cleaner.setVehicle(otherVehicle);
+        cleanerRepository.saveAndFlush(cleaner);
+
+        mockMvc.perform(put("/api/bookings/{id}", booking.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingUpdateRequest.builder()
+                                .date(date)
+                                .startTime(LocalTime.of(14, 0))
+                                .build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/heatmap")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("vehicleId", originalVehicleId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].cellStart").value("14:00:00"))
+                .andExpect(jsonPath("$[0].vehicleId").value(originalVehicleId));
+        mockMvc.perform(get("/api/admin/heatmap")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("vehicleId", otherVehicle.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        assertThat(capacityHeatmapService.reconcile(date, date)).isZero();
+    }
+
     @Test
     void createBooking_ShouldReturnBadRequest_WhenNoCleanersAvailable() throws Exception {
         LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
@@ -172,6 +479,46 @@ class BookingControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void cancelBooking_ShouldFreeCleanersForTheSlot() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        LocalTime time = LocalTime.of(10, 0);
+
+        Booking holder = bookingRepository.save(Booking.builder()
+                .startDateTime(LocalDateTime.of(date, time))
+                .endDateTime(LocalDateTime.of(date, time.plusHours(2)))
+                .durationHours(2)
+                .customerName("Cancelled Holder")
+                .cleaners(new ArrayList<>(cleanerRepository.findAll()))
+                .build());
+
+        AvailabilityRequest availability = AvailabilityRequest.builder()
+                .date(date)
+                .startTime(time)
+                .duration(2)
+                .build();
+        mockMvc.perform(post("/api/bookings/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availability)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(post("/api/bookings/{id}/cancel", holder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+
+        mockMvc.perform(post("/api/bookings/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availability)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(post("/api/bookings/{id}/cancel", holder.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bookings/{id}", holder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
     @Test
     void updateBooking_ShouldUpdateDateTime_WhenNoConflicts() throws Exception {
         LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
@@ -210,6 +557,163 @@ class BookingControllerIntegrationTest {
         assertThat(updated.getStartDateTime()).isEqualTo(LocalDateTime.of(date, LocalTime.of(14, 0, 0)));
     }
 
+    @Test
+    void getBooking_ShouldReadThroughArchive_WhenBookingWasArchived() throws Exception {
+        Cleaner cleaner = cleanerRepository.findAll().get(0);
+        LocalDateTime start = LocalDate.now().minusDays(30).atTime(10, 0);
+        Booking past = bookingRepository.saveAndFlush(Booking.builder()
+                .startDateTime(start)
+                .endDateTime(start.plusHours(2))
+                .durationHours(2)
+                .customerName("Past Customer")
+                .cleaners(new ArrayList<>(List.of(cleaner)))
+                .build());
+
+        int archived = bookingArchiveService.archiveBookingsEndingBefore(LocalDate.now().atStartOfDay());
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(bookingRepository.findById(past.getId())).isEmpty();
+
+        mockMvc.perform(get("/api/bookings/{id}", past.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName").value("Past Customer"))
+                .andExpect(jsonPath("$.cleanerNames[0]").value(cleaner.getName()));
+    }
+
+    @Test
+    void listBookings_ShouldPageByCursor_InStartTimeOrder() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        Cleaner cleaner = cleanerRepository.findAll().get(0);
+        for (int hour : new int[]{14, 8, 11}) {
+            bookingRepository.save(Booking.builder()
+                    .startDateTime(date.atTime(hour, 0))
+                    .endDateTime(date.atTime(hour + 2, 0))
+                    .durationHours(2)
+                    .customerName("Customer " + hour)
+                    .cleaners(new ArrayList<>(List.of(cleaner)))
+                    .build());
+        }
+
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/api/bookings")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].customerName").value("Customer 8"))
+                .andExpect(jsonPath("$.items[1].customerName").value("Customer 11"))
+                .andExpect(jsonPath("$.items[0].cleanerNames[0]").value(cleaner.getName()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/bookings")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].customerName").value("Customer 14"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void archiveBookings_ShouldKeepTheBookingsVehicle() {
+        LocalDate date = LocalDate.now().minusDays(30);
+        Cleaner cleaner = cleanerRepository.findAll().get(0);
+        Long vehicleId = cleaner.getVehicle().getId();
+        Long bookingId = bookingRepository.saveAndFlush(Booking.builder()
+                .startDateTime(date.atTime(8, 0))
+                .endDateTime(date.atTime(10, 0))
+                .durationHours(2)
+                .customerName("Archived Customer")
+                .vehicleId(vehicleId)
+                .cleaners(new ArrayList<>(List.of(cleaner)))
+                .build()).getId();
+
+        assertThat(bookingArchiveService.archiveBookingsEndingBefore(date.atTime(12, 0))).isEqualTo(1);
+
+        assertThat(archivedBookingRepository.findById(bookingId))
+                .hasValueSatisfying(archived -> assertThat(archived.getVehicleId()).isEqualTo(vehicleId));
+    }
+
+    @Test
+    void listBookings_ShouldPageAcrossArchivedAndActiveBookings() throws Exception {
+        LocalDate date = LocalDate.now().minusDays(30);
+        Cleaner cleaner = cleanerRepository.findAll().get(0);
+        bookingRepository.saveAndFlush(Booking.builder()
+                .startDateTime(date.atTime(8, 0))
+                .endDateTime(date.atTime(10, 0))
+                .durationHours(2)
+                .customerName("Archived Customer")
+                .cleaners(new ArrayList<>(List.of(cleaner)))
+                .build());
+        assertThat(bookingArchiveService.archiveBookingsEndingBefore(date.atTime(12, 0))).isEqualTo(1);
+        for (int hour : new int[]{14, 11}) {
+            bookingRepository.save(Booking.builder()
+                    .startDateTime(date.atTime(hour, 0))
+                    .endDateTime(date.atTime(hour + 2, 0))
+                    .durationHours(2)
+                    .customerName("Customer " + hour)
+                    .cleaners(new ArrayList<>(List.of(cleaner)))
+                    .build());
+        }
+
+        String cursor = objectMapper.readTree(mockMvc.perform(get("/api/bookings")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].customerName").value("Archived Customer"))
+                .andExpect(jsonPath("$.items[0].cleanerNames[0]").value(cleaner.getName()))
+                .andExpect(jsonPath("$.items[1].customerName").value("Customer 11"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/bookings")
+                        .param("from", date.toString())
+                        .param("to", date.toString())
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].customerName").value("Customer 14"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getSchedules_ShouldReturnDayBookingsPerCleaner() throws Exception {
+        LocalDate date = nextNonFriday(LocalDate.now().plusDays(1));
+        List<Cleaner> cleaners = cleanerRepository.findAll(Sort.by("id"));
+        Booking booking = bookingRepository.save(Booking.builder()
+                .startDateTime(date.atTime(10, 0))
+                .endDateTime(date.atTime(12, 0))
+                .durationHours(2)
+                .customerName("Scheduled Customer")
+                .cleaners(new ArrayList<>(List.of(cleaners.get(0))))
+                .build());
+
+        mockMvc.perform(get("/api/schedules/cleaners/{id}", cleaners.get(0).getId())
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.length()").value(1))
+                .andExpect(jsonPath("$.bookings[0].bookingId").value(booking.getId()));
+
+        mockMvc.perform(get("/api/schedules/vehicles/{id}", cleaners.get(0).getVehicle().getId())
+                        .param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cleaners.length()").value(2))
+                .andExpect(jsonPath("$.cleaners[0].bookings.length()").value(1))
+                .andExpect(jsonPath("$.cleaners[1].bookings.length()").value(0));
+
+        mockMvc.perform(get("/api/schedules/cleaners/{id}", 99999L)
+                        .param("date", date.toString()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void updateBooking_ShouldReturnNotFound_WhenBookingDoesNotExist() throws Exception {
         BookingUpdateRequest request = BookingUpdateRequest.builder()
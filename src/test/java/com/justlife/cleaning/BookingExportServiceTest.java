@@ -0,0 +1,163 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.repository.ArchivedBookingRepository;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import com.justlife.cleaning.service.BookingArchiveService;
+import com.justlife.cleaning.service.BookingExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the export reads through its own stateless session, so the fixture must be committed
+@SpringBootTest
+class BookingExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2099, 1, 5);
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        List<Cleaner> cleaners = cleanerRepository.findAll().subList(0, 2);
+        bookingIds.add(bookingRepository.save(Booking.builder()
+                .startDateTime(DAY.atTime(10, 0))
+                .endDateTime(DAY.atTime(12, 0))
+                .durationHours(2)
+                .customerName("Doe, Jane")
+                .cleaners(new ArrayList<>(cleaners))
+                .build()).getId());
+        bookingIds.add(bookingRepository.save(Booking.builder()
+                .startDateTime(DAY.plusDays(1).atTime(14, 0))
+                .endDateTime(DAY.plusDays(1).atTime(18, 0))
+                .durationHours(4)
+                .customerName("John Doe")
+                .cleaners(new ArrayList<>(cleaners.subList(0, 1)))
+                .build()).getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        bookingRepository.deleteAllById(bookingIds);
+        bookingIds.clear();
+    }
+
+    @Test
+    void exportBookings_ShouldFoldCleanersIntoOneCsvLinePerBooking() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = bookingExportService.exportBookings(DAY, DAY.plusDays(1), BookingExportService.Format.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).startsWith(bookingIds.get(0) + ",2099-01-05T10:00,2099-01-05T12:00,2,\"Doe, Jane\",");
+        assertThat(lines.get(1).split(",")[6].split(";")).hasSize(2);
+        assertThat(lines.get(2)).startsWith(bookingIds.get(1) + ",");
+    }
+
+    @Test
+    void exportBookings_ShouldWriteOneJsonObjectPerLine_AndRespectTheRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = bookingExportService.exportBookings(DAY, DAY, BookingExportService.Format.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(1);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"id\":" + bookingIds.get(0)).contains("\"customerName\":\"Doe, Jane\"");
+    }
+
+    @Test
+    void exportBookings_ShouldIncludeArchivedBookings() throws Exception {
+        LocalDate pastDay = LocalDate.now().minusDays(40);
+        List<Cleaner> cleaners = cleanerRepository.findAll().subList(0, 2);
+        Long archivedId = bookingRepository.save(Booking.builder()
+                .startDateTime(pastDay.atTime(10, 0))
+                .endDateTime(pastDay.atTime(12, 0))
+                .durationHours(2)
+                .customerName("Archived Customer")
+                .cleaners(new ArrayList<>(cleaners))
+                .build()).getId();
+        try {
+            bookingArchiveService.archiveBookingsEndingBefore(pastDay.plusDays(1).atStartOfDay());
+            assertThat(bookingRepository.findById(archivedId)).isEmpty();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            long exported = bookingExportService.exportBookings(pastDay, pastDay, BookingExportService.Format.CSV, out);
+
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(exported).isEqualTo(1);
+            assertThat(lines.get(1)).startsWith(archivedId + "," + pastDay + "T10:00,").contains("Archived Customer");
+            assertThat(lines.get(1).split(",")[5].split(";")).hasSize(2);
+        } finally {
+            archivedBookingRepository.deleteById(archivedId);
+        }
+    }
+
+    @Test
+    void exportBookings_ShouldWriteBookingOnce_WhenArchivedBetweenTheTwoReads() throws Exception {
+        LocalDate pastDay = LocalDate.now().minusDays(40);
+        List<Cleaner> cleaners = cleanerRepository.findAll().subList(0, 1);
+        Long bookingId = bookingRepository.save(Booking.builder()
+                .startDateTime(pastDay.atTime(10, 0))
+                .endDateTime(pastDay.atTime(12, 0))
+                .durationHours(2)
+                .customerName("Moving Customer")
+                .cleaners(new ArrayList<>(cleaners))
+                .build()).getId();
+        // The active part is flushed before the archive is read, so the first write marks the gap between the reads
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            private boolean archived;
+
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                if (!archived) {
+                    archived = true;
+                    bookingArchiveService.archiveBookingsEndingBefore(pastDay.plusDays(1).atStartOfDay());
+                }
+                super.write(bytes, offset, length);
+            }
+        };
+        try {
+            long exported = bookingExportService.exportBookings(pastDay, pastDay, BookingExportService.Format.CSV, out);
+
+            assertThat(bookingRepository.findById(bookingId)).isEmpty();
+            assertThat(archivedBookingRepository.findById(bookingId)).isPresent();
+            List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+            assertThat(exported).isEqualTo(1);
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(1)).startsWith(bookingId + ",").contains("Moving Customer");
+        } finally {
+            bookingRepository.deleteAllById(List.of(bookingId));
+            archivedBookingRepository.deleteAllById(List.of(bookingId));
+        }
+    }
+}
@@ -1,32 +1,42 @@
 package com.justlife.cleaning;
 
+import com.justlife.cleaning.config.CleaningProperties;
 import com.justlife.cleaning.dto.*;
 import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.BookingStatus;
 import com.justlife.cleaning.entity.Cleaner;
 import com.justlife.cleaning.entity.Vehicle;
+import com.justlife.cleaning.event.BookingChangedEvent;
 import com.justlife.cleaning.exception.BusinessException;
 import com.justlife.cleaning.exception.ResourceNotFoundException;
+import com.justlife.cleaning.readmodel.BookingInterval;
+import com.justlife.cleaning.readmodel.CleanerView;
 import com.justlife.cleaning.repository.BookingRepository;
 import com.justlife.cleaning.repository.CleanerRepository;
-import com.justlife.cleaning.repository.VehicleRepository;
 import com.justlife.cleaning.service.BookingService;
+import com.justlife.cleaning.service.SchedulingPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,19 +47,25 @@ class BookingServiceTest {
     @Mock
     private CleanerRepository cleanerRepository;
     @Mock
-    private VehicleRepository vehicleRepository;
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private CleaningProperties properties = new CleaningProperties();
+    @Spy
+    private SchedulingPolicy schedulingPolicy = new SchedulingPolicy(new CleaningProperties());
 
     @InjectMocks
     private BookingService bookingService;
 
     private Cleaner cleaner;
     private Vehicle vehicle;
+    private CleanerView cleanerView;
 
     @BeforeEach
     void setUp() {
         vehicle = Vehicle.builder().id(1L).cleaners(new ArrayList<>()).build();
         cleaner = Cleaner.builder().id(1L).name("John").vehicle(vehicle).build();
         vehicle.getCleaners().add(cleaner);
+        cleanerView = new CleanerView(cleaner.getId(), cleaner.getName(), vehicle.getId());
     }
 
     @Test
@@ -69,10 +85,9 @@ class BookingServiceTest {
                 .duration(2)
                 .build();
 
-        when(cleanerRepository.findAllIds()).thenReturn(List.of(cleaner.getId()));
-        when(bookingRepository.findActiveBookingsForCleaners(anyList(), any(), any()))
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(cleanerRepository.getReferenceById(cleaner.getId())).thenReturn(cleaner);
 
         List<CleanerAvailabilityDto> result = bookingService.checkAvailability(request);
 
@@ -89,16 +104,12 @@ class BookingServiceTest {
                 .duration(2)
                 .build();
 
-        Booking existing = Booking.builder()
-                .id(1L)
-                .startDateTime(LocalDateTime.of(2023, 11, 23, 9, 30))
-                .endDateTime(LocalDateTime.of(2023, 11, 23, 11, 30))
-                .cleaners(List.of(cleaner))
-                .customerName("Conflict test")
-                .build();
+        BookingInterval existing = new BookingInterval(1L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 9, 30),
+                LocalDateTime.of(2023, 11, 23, 11, 30));
 
-        when(cleanerRepository.findAllIds()).thenReturn(List.of(cleaner.getId()));
-        when(bookingRepository.findActiveBookingsForCleaners(anyList(), any(), any()))
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), any(), any()))
                 .thenReturn(List.of(existing));
 
         List<CleanerAvailabilityDto> result = bookingService.checkAvailability(request);
@@ -112,16 +123,13 @@ class BookingServiceTest {
                 .date(LocalDate.of(2023, 11, 23))
                 .build();
 
-        Booking existing = Booking.builder()
-                .id(1L)
-                .startDateTime(LocalDateTime.of(2023, 11, 23, 10, 0))
-                .endDateTime(LocalDateTime.of(2023, 11, 23, 12, 0))
-                .build();
+        BookingInterval existing = new BookingInterval(1L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 10, 0),
+                LocalDateTime.of(2023, 11, 23, 12, 0));
 
-        when(cleanerRepository.findAllIds()).thenReturn(List.of(cleaner.getId()));
-        when(bookingRepository.findActiveBookingsForCleaners(anyList(), any(), any()))
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), any(), any()))
                 .thenReturn(new ArrayList<>(List.of(existing)));
-        when(cleanerRepository.getReferenceById(cleaner.getId())).thenReturn(cleaner);
 
         List<CleanerAvailabilityDto> result = bookingService.checkAvailability(request);
 
@@ -131,6 +139,65 @@ class BookingServiceTest {
         assertFalse(dto.getAvailableTimeSlots().isEmpty());
     }
 
+    @Test
+    void checkTeamAvailability_ShouldOnlyOfferStartsWhereTheWholeTeamIsFree() {
+        AvailabilityRequest request = AvailabilityRequest.builder()
+                .date(LocalDate.of(2023, 11, 23))
+                .duration(2)
+                .cleanerCount(2)
+                .build();
+
+        BookingInterval janeBusy = new BookingInterval(1L, 2L,
+                LocalDateTime.of(2023, 11, 23, 10, 0),
+                LocalDateTime.of(2023, 11, 23, 12, 0));
+
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(
+                cleanerView,
+                new CleanerView(2L, "Jane", 1L),
+                new CleanerView(3L, "Solo", 2L)));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(janeBusy)));
+
+        List<VehicleAvailabilityDto> result = bookingService.checkTeamAvailability(request);
+
+        assertEquals(1, result.size());
+        VehicleAvailabilityDto dto = result.get(0);
+        assertEquals(vehicle.getId(), dto.getVehicleId());
+        assertEquals(16, dto.getAvailableTimeSlots().size());
+        assertEquals("12:30 (2h)", dto.getAvailableTimeSlots().get(0));
+        assertEquals("20:00 (2h)", dto.getAvailableTimeSlots().get(15));
+    }
+
+    @Test
+    void checkCandidates_ShouldLoadEachDayOnce_AndAnswerInRequestOrder() {
+        LocalDate thursday = LocalDate.of(2023, 11, 23);
+        LocalDate saturday = LocalDate.of(2023, 11, 25);
+        BatchAvailabilityRequest request = BatchAvailabilityRequest.builder()
+                .candidates(List.of(
+                        candidate(thursday, LocalTime.of(10, 0)),
+                        candidate(saturday, LocalTime.of(10, 0)),
+                        candidate(thursday, LocalTime.of(16, 0)),
+                        candidate(LocalDate.of(2023, 11, 24), LocalTime.of(10, 0)))) // A Friday
+                .build();
+
+        BookingInterval busyThursdayMorning = new BookingInterval(1L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 9, 0),
+                LocalDateTime.of(2023, 11, 23, 11, 0));
+
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), eq(thursday.atStartOfDay()), any()))
+                .thenReturn(new ArrayList<>(List.of(busyThursdayMorning)));
+        when(bookingRepository.findActiveBookingsForCleaners(eq("DXB"), anyList(), eq(saturday.atStartOfDay()), any()))
+                .thenReturn(Collections.emptyList());
+
+        List<CandidateAvailabilityDto> result = bookingService.checkCandidates(request);
+
+        assertEquals(List.of(false, true, true, false), result.stream().map(CandidateAvailabilityDto::isAvailable).toList());
+        assertEquals(vehicle.getId(), result.get(1).getVehicleId());
+        assertEquals("We do not work on Fridays.", result.get(3).getReason());
+        verify(bookingRepository, times(2)).findActiveBookingsForCleaners(any(), anyList(), any(), any());
+    }
+
     @Test
     void createBooking_ShouldThrowException_WhenStartsBefore8AM() {
         BookingRequest request = BookingRequest.builder()
@@ -189,8 +256,9 @@ class BookingServiceTest {
                 .customerName("Test Customer")
                 .build();
 
-        when(vehicleRepository.findAllWithCleaners()).thenReturn(List.of(vehicle));
-        when(bookingRepository.findConflictingBookings(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any())).thenReturn(Collections.emptyList());
+        when(cleanerRepository.getReferenceById(cleaner.getId())).thenReturn(cleaner);
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking b = invocation.getArgument(0);
             b.setId(1L);
@@ -205,28 +273,138 @@ class BookingServiceTest {
     }
 
     @Test
-    void createBooking_ShouldThrowException_WhenNoAvailableCleanersInAnyVehicle() {
+    void createBooking_ShouldOnlyUseVehiclesOfRequestedZone() {
         BookingRequest request = BookingRequest.builder()
                 .date(LocalDate.of(2023, 11, 23))
                 .startTime(LocalTime.of(10, 0))
                 .duration(2)
                 .cleanerCount(1)
-                .customerName("No Cleaner Customer")
+                .customerName("Zone Customer")
+                .zone("auh")
                 .build();
 
-        Vehicle v = Vehicle.builder()
-                .id(2L)
-                .cleaners(List.of(cleaner))
+        when(cleanerRepository.findRosterByZone("AUH")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findConflictingBookings(eq("AUH"), anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(cleanerRepository.getReferenceById(cleaner.getId())).thenReturn(cleaner);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingResponse response = bookingService.createBooking(request);
+
+        assertEquals("John", response.getCleanerNames().get(0));
+        verify(cleanerRepository, never()).findRosterByZone("DXB");
+    }
+
+    @Test
+    void createBooking_ShouldThrowException_WhenZoneHasNoVehicles() {
+        BookingRequest request = BookingRequest.builder()
+                .date(LocalDate.of(2023, 11, 23))
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Unknown Zone Customer")
+                .zone("XYZ")
                 .build();
 
-        when(vehicleRepository.findAllWithCleaners()).thenReturn(List.of(v));
-        // Always conflict so that cleaner is never available
-        // The conflict must include the cleaner in its cleaners list for the grouping logic to work
-        Booking conflictingBooking = Booking.builder()
-                .id(99L)
-                .cleaners(List.of(cleaner))
+        when(cleanerRepository.findRosterByZone("XYZ")).thenReturn(Collections.emptyList());
+
+        assertThrows(BusinessException.class, () -> bookingService.createBooking(request));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void createSeries_ShouldSkipFridays_AndCheckConflictsOnce() {
+        BookingSeriesRequest request = BookingSeriesRequest.builder()
+                .startDate(LocalDate.of(2023, 11, 23)) // A Thursday
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Series Customer")
+                .frequency(BookingSeriesRequest.Frequency.DAILY)
+                .occurrences(3)
+                .build();
+
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findConflictingBookings(eq("DXB"), anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(cleanerRepository.getReferenceById(cleaner.getId())).thenReturn(cleaner);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingSeriesResponse response = bookingService.createSeries(request);
+
+        assertEquals(List.of(LocalDate.of(2023, 11, 24)), response.getSkippedDates());
+        assertEquals(List.of(
+                        LocalDateTime.of(2023, 11, 23, 10, 0),
+                        LocalDateTime.of(2023, 11, 25, 10, 0),
+                        LocalDateTime.of(2023, 11, 26, 10, 0)),
+                response.getBookings().stream().map(BookingResponse::getStartDateTime).toList());
+        verify(bookingRepository, times(1)).findConflictingBookings(eq("DXB"), anyList(), any(), any());
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createSeries_ShouldThrowException_WhenTooFewDatesAreOpen() {
+        CleaningProperties closedEveryDay = new CleaningProperties();
+        closedEveryDay.getSchedule().setClosedDays(EnumSet.allOf(DayOfWeek.class));
+        SchedulingPolicy closedPolicy = new SchedulingPolicy(closedEveryDay);
+        doAnswer(invocation -> closedPolicy.day(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(schedulingPolicy).day(any(), any());
+        BookingSeriesRequest request = BookingSeriesRequest.builder()
+                .startDate(LocalDate.of(2023, 11, 23))
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Series Customer")
+                .frequency(BookingSeriesRequest.Frequency.DAILY)
+                .occurrences(3)
+                .build();
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> bookingService.createSeries(request));
+
+        assertTrue(exception.getMessage().startsWith("Only 0 of 3 occurrences"));
+        verifyNoInteractions(cleanerRepository, bookingRepository);
+    }
+
+    @Test
+    void createSeries_ShouldThrowException_WhenTeamIsBusyOnAnyOccurrence() {
+        BookingSeriesRequest request = BookingSeriesRequest.builder()
+                .startDate(LocalDate.of(2023, 11, 23))
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Series Customer")
+                .occurrences(3)
                 .build();
-        when(bookingRepository.findConflictingBookings(any(), any(), any()))
+
+        BookingInterval thirdWeek = new BookingInterval(7L, cleaner.getId(),
+                LocalDateTime.of(2023, 12, 7, 11, 0),
+                LocalDateTime.of(2023, 12, 7, 13, 0));
+
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(cleanerView));
+        when(bookingRepository.findConflictingBookings(eq("DXB"), anyList(), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(thirdWeek)));
+
+        assertThrows(BusinessException.class, () -> bookingService.createSeries(request));
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createBooking_ShouldThrowException_WhenNoAvailableCleanersInAnyVehicle() {
+        BookingRequest request = BookingRequest.builder()
+                .date(LocalDate.of(2023, 11, 23))
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("No Cleaner Customer")
+                .build();
+
+        when(cleanerRepository.findRosterByZone("DXB")).thenReturn(List.of(new CleanerView(cleaner.getId(), cleaner.getName(), 2L)));
+        // Always conflict so that cleaner is never available
+        // The conflict must belong to the cleaner for the grouping logic to work
+        BookingInterval conflictingBooking = new BookingInterval(99L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 10, 0),
+                LocalDateTime.of(2023, 11, 23, 12, 0));
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any()))
                 .thenReturn(List.of(conflictingBooking));
 
         assertThrows(BusinessException.class, () -> bookingService.createBooking(request));
@@ -253,7 +431,7 @@ class BookingServiceTest {
                 .build();
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existing));
-        when(bookingRepository.findConflictingBookings(anyList(), any(), any()))
+        when(bookingRepository.findConflictingBookings(eq("DXB"), anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -278,11 +456,9 @@ class BookingServiceTest {
                 .customerName("Update Conflict Test")
                 .build();
 
-        Booking conflicting = Booking.builder()
-                .id(2L)
-                .startDateTime(LocalDateTime.of(2023, 11, 23, 11, 30))
-                .endDateTime(LocalDateTime.of(2023, 11, 23, 13, 30))
-                .build();
+        BookingInterval conflicting = new BookingInterval(2L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 11, 30),
+                LocalDateTime.of(2023, 11, 23, 13, 30));
 
         BookingUpdateRequest updateRequest = BookingUpdateRequest.builder()
                 .date(newDate)
@@ -290,12 +466,55 @@ class BookingServiceTest {
                 .build();
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existing));
-        when(bookingRepository.findConflictingBookings(anyList(), any(), any()))
+        when(bookingRepository.findConflictingBookings(eq("DXB"), anyList(), any(), any()))
                 .thenReturn(List.of(conflicting));
 
         assertThrows(BusinessException.class, () -> bookingService.updateBooking(bookingId, updateRequest));
     }
 
+    @Test
+    void updateBooking_ShouldMoveToAnotherVehicle_WhenTeamIsBusyAndReassignmentAllowed() {
+        Long bookingId = 1L;
+        Vehicle otherVehicle = Vehicle.builder().id(2L).cleaners(new ArrayList<>()).build();
+        Cleaner otherCleaner = Cleaner.builder().id(2L).name("Jane").vehicle(otherVehicle).build();
+
+        Booking existing = Booking.builder()
+                .id(bookingId)
+                .startDateTime(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .endDateTime(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .durationHours(2)
+                .cleaners(new ArrayList<>(List.of(cleaner)))
+                .customerName("Reassign Test")
+                .build();
+
+        BookingInterval busy = new BookingInterval(2L, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 14, 0),
+                LocalDateTime.of(2023, 11, 23, 16, 0));
+        BookingInterval own = new BookingInterval(bookingId, cleaner.getId(),
+                LocalDateTime.of(2023, 11, 23, 10, 0),
+                LocalDateTime.of(2023, 11, 23, 12, 0));
+
+        BookingUpdateRequest updateRequest = BookingUpdateRequest.builder()
+                .date(LocalDate.of(2023, 11, 23))
+                .startTime(LocalTime.of(14, 0))
+                .allowReassignment(true)
+                .build();
+
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(existing));
+        when(cleanerRepository.findRosterByZone("DXB"))
+                .thenReturn(List.of(cleanerView, new CleanerView(2L, "Jane", 2L)));
+        when(bookingRepository.findConflictingBookings(eq("DXB"), eq(List.of(1L, 2L)), any(), any()))
+                .thenReturn(List.of(busy, own));
+        when(cleanerRepository.getReferenceById(2L)).thenReturn(otherCleaner);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingResponse response = bookingService.updateBooking(bookingId, updateRequest);
+
+        assertEquals(List.of("Jane"), response.getCleanerNames());
+        assertEquals(List.of(otherCleaner), existing.getCleaners());
+        verify(bookingRepository, times(1)).findConflictingBookings(any(), anyList(), any(), any());
+    }
+
     @Test
     void updateBooking_ShouldThrowResourceNotFound_WhenBookingDoesNotExist() {
         Long nonExistingId = 999L;
@@ -310,5 +529,54 @@ class BookingServiceTest {
                 () -> bookingService.updateBooking(nonExistingId, updateRequest));
     }
 
+    @Test
+    void cancelBooking_ShouldMarkCancelled_AndPublishFreedInterval() {
+        Booking existing = Booking.builder()
+                .id(1L)
+                .startDateTime(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .endDateTime(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .durationHours(2)
+                .cleaners(List.of(cleaner))
+                .customerName("Cancel Test")
+                .build();
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingResponse response = bookingService.cancelBooking(1L);
 
+        assertEquals(BookingStatus.CANCELLED, response.getStatus());
+        assertEquals(BookingStatus.CANCELLED, existing.getStatus());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BookingChangedEvent changed
+                && changed.getType() == BookingChangedEvent.Type.CANCELLED
+                && changed.getPreviousCleanerIds().equals(List.of(1L))
+                && changed.getPreviousStart().equals(existing.getStartDateTime())
+                && changed.getStart() == null));
+    }
+
+    @Test
+    void cancelBooking_ShouldThrowException_WhenAlreadyCancelled() {
+        Booking existing = Booking.builder()
+                .id(1L)
+                .startDateTime(LocalDateTime.of(2023, 11, 23, 10, 0))
+                .endDateTime(LocalDateTime.of(2023, 11, 23, 12, 0))
+                .durationHours(2)
+                .cleaners(List.of(cleaner))
+                .status(BookingStatus.CANCELLED)
+                .build();
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertThrows(BusinessException.class, () -> bookingService.cancelBooking(1L));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    private AvailabilityCandidate candidate(LocalDate date, LocalTime startTime) {
+        return AvailabilityCandidate.builder()
+                .date(date)
+                .startTime(startTime)
+                .duration(2)
+                .cleanerCount(1)
+                .build();
+    }
 }
@@ -0,0 +1,43 @@
+package com.justlife.cleaning;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects latency samples for the benchmark suites and writes their CSV reports.
+ */
+final class LatencyRecorder {
+
+    private final long[] samples;
+    private int count;
+
+    LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long elapsedNanos) {
+        samples[count++] = elapsedNanos;
+    }
+
+    long percentileMicros(double percentile) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = Math.min(count - 1, (int) Math.ceil(percentile / 100 * count) - 1);
+        return sorted[Math.max(0, index)] / 1_000;
+    }
+
+    static void writeReport(String fileName, List<String> lines) {
+        lines.forEach(System.out::println);
+        try {
+            Path report = Path.of("build", "benchmarks", fileName);
+            Files.createDirectories(report.getParent());
+            Files.write(report, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.config.ReactiveAvailabilityServer;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput, latency, heap and thread count of the servlet and the reactive availability
+ * endpoints under the same high-concurrency load, both served by one application context.
+ * Heap and threads are sampled for the whole JVM, load generator included.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "cleaning.reactive.enabled=true",
+        "cleaning.reactive.port=0"
+})
+class ReactiveAvailabilityBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+    private static final int REQUESTS_PER_WORKER = Integer.getInteger("benchmark.requestsPerWorker", 50);
+    private static final int WARMUP_REQUESTS_PER_WORKER = 10;
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveAvailabilityServer reactiveAvailabilityServer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void availabilityUnderConcurrentLoad() throws Exception {
+        List<String> bodies = new ArrayList<>();
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < 30; i++) {
+            date = nextWorkingDay(date);
+            bodies.add(objectMapper.writeValueAsString(AvailabilityRequest.builder().date(date).build()));
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add("stack,concurrency,requests,throughputPerSec,p50Micros,p99Micros,peakHeapMb,peakThreads");
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            report.add(run("servlet", URI.create("http://localhost:" + servletPort + "/api/bookings/availability"), client, bodies));
+            report.add(run("reactive", URI.create("http://localhost:" + reactiveAvailabilityServer.getPort() + "/api/bookings/availability"), client, bodies));
+        }
+        LatencyRecorder.writeReport("reactive-availability.csv", report);
+    }
+
+    private String run(String stack, URI uri, HttpClient client, List<String> bodies) throws Exception {
+        load(uri, client, bodies, WARMUP_REQUESTS_PER_WORKER);
+        System.gc();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long began = System.nanoTime();
+        List<long[]> samples = load(uri, client, bodies, REQUESTS_PER_WORKER);
+        long elapsed = System.nanoTime() - began;
+        sampler.interrupt();
+        sampler.join();
+
+        int requests = CONCURRENCY * REQUESTS_PER_WORKER;
+        LatencyRecorder latency = new LatencyRecorder(requests);
+        samples.forEach(worker -> {
+            for (long sample : worker) {
+                latency.record(sample);
+            }
+        });
+        return stack + "," + CONCURRENCY + "," + requests + ","
+                + Math.round(requests / (elapsed / 1e9)) + ","
+                + latency.percentileMicros(50) + "," + latency.percentileMicros(99) + ","
+                + peakHeap.get() / (1024 * 1024) + "," + threads.getPeakThreadCount();
+    }
+
+    private List<long[]> load(URI uri, HttpClient client, List<String> bodies, int requestsPerWorker) throws Exception {
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < CONCURRENCY; w++) {
+                int offset = w;
+                workers.add(executor.submit(() -> {
+                    long[] samples = new long[requestsPerWorker];
+                    for (int i = 0; i < requestsPerWorker; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(bodies.get((offset + i) % bodies.size())))
+                                .build();
+                        long began = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        samples[i] = System.nanoTime() - began;
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException(uri + " answered " + response.statusCode());
+                        }
+                    }
+                    return samples;
+                }));
+            }
+        }
+        List<long[]> samples = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            samples.add(worker.get());
+        }
+        return samples;
+    }
+
+    private static LocalDate nextWorkingDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        return next.getDayOfWeek() == DayOfWeek.FRIDAY ? next.plusDays(1) : next;
+    }
+}
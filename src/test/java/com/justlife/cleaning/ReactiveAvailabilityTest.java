@@ -0,0 +1,108 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.config.ReactiveAvailabilityServer;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.CleanerAvailabilityDto;
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.repository.BookingRepository;
+import com.justlife.cleaning.repository.CleanerRepository;
+import com.justlife.cleaning.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the reactive endpoint reads over its own R2DBC connections, so the fixture must be committed
+@SpringBootTest(properties = {
+        "cleaning.reactive.enabled=true",
+        "cleaning.reactive.port=0"
+})
+class ReactiveAvailabilityTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2098, 1, 6);
+
+    @Autowired
+    private ReactiveAvailabilityServer reactiveAvailabilityServer;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    private WebTestClient client;
+    private Long bookingId;
+    private List<Long> bookedCleanerIds;
+
+    @BeforeEach
+    void setup() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveAvailabilityServer.getPort())
+                .build();
+        List<Cleaner> cleaners = cleanerRepository.findAll(Sort.by("id")).subList(0, 2);
+        bookedCleanerIds = cleaners.stream().map(Cleaner::getId).toList();
+        bookingId = bookingRepository.save(Booking.builder()
+                .startDateTime(MONDAY.atTime(10, 0))
+                .endDateTime(MONDAY.atTime(12, 0))
+                .durationHours(2)
+                .customerName("Doe, Jane")
+                .cleaners(new ArrayList<>(cleaners))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        bookingRepository.deleteById(bookingId);
+    }
+
+    @Test
+    void reactiveAvailability_ShouldMatchServletResult() {
+        AvailabilityRequest request = AvailabilityRequest.builder()
+                .date(MONDAY)
+                .startTime(LocalTime.of(11, 0))
+                .duration(2)
+                .build();
+
+        List<CleanerAvailabilityDto> result = client.post()
+                .uri("/api/bookings/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CleanerAvailabilityDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(result).isEqualTo(bookingService.checkAvailability(request));
+        assertThat(result).isNotEmpty();
+        assertThat(result).extracting(CleanerAvailabilityDto::getCleanerId)
+                .doesNotContainAnyElementsOf(bookedCleanerIds);
+    }
+
+    @Test
+    void reactiveAvailability_ShouldRejectFriday() {
+        client.post()
+                .uri("/api/bookings/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(AvailabilityRequest.builder().date(MONDAY.plusDays(4)).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").exists();
+    }
+}
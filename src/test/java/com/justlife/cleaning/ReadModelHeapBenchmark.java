@@ -0,0 +1,157 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.entity.Cleaner;
+import com.justlife.cleaning.readmodel.CleanerView;
+import com.justlife.cleaning.repository.CleanerRepository;
+import com.justlife.cleaning.service.BookingService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes allocated per availability read with the old entity graph (bookings with their
+ * cleaners and vehicles) versus the projection based read model, plus peak heap while
+ * the read model path is under concurrent load.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark-heap;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+class ReadModelHeapBenchmark {
+
+    private static final int DAYS = 30;
+    private static final int ITERATIONS = 500;
+    private static final int LOAD_THREADS = 16;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CleanerRepository cleanerRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void allocationPerRead_EntityGraphVersusReadModel() throws Exception {
+        List<CleanerView> roster = cleanerRepository.findRosterByZone("DXB");
+        List<Long> cleanerIds = roster.stream().map(CleanerView::id).toList();
+        seedBookings(cleanerIds);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate date = workingDay(1);
+
+        long entityBytes = allocatedPerIteration(() -> readOnly.executeWithoutResult(status -> {
+            List<Booking> bookings = entityManager.createQuery(
+                            "SELECT DISTINCT b FROM Booking b JOIN FETCH b.cleaners c JOIN FETCH c.vehicle " +
+                            "WHERE b.startDateTime >= :start AND b.endDateTime <= :end", Booking.class)
+                    .setParameter("start", date.atStartOfDay())
+                    .setParameter("end", date.plusDays(1).atStartOfDay())
+                    .getResultList();
+            bookings.forEach(booking -> booking.getCleaners().forEach(Cleaner::getName));
+        }));
+
+        long readModelBytes = allocatedPerIteration(() -> readOnly.executeWithoutResult(status ->
+                bookingService.getBookingsByCleanerIds("DXB", cleanerRepository.findRosterByZone("DXB"), date)));
+
+        long availabilityBytes = allocatedPerIteration(() ->
+                bookingService.checkAvailability(AvailabilityRequest.builder().date(date).build()));
+
+        long peakHeap = peakHeapUnderLoad();
+
+        LatencyRecorder.writeReport("read-model-heap.csv", List.of(
+                "measurement,bytes",
+                "entityGraphPerDayRead," + entityBytes,
+                "readModelPerDayRead," + readModelBytes,
+                "availabilityRequest," + availabilityBytes,
+                "peakHeapUnderLoad," + peakHeap));
+    }
+
+    private long allocatedPerIteration(Runnable operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    private long peakHeapUnderLoad() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        AtomicLong peak = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        ExecutorService pool = Executors.newFixedThreadPool(LOAD_THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < LOAD_THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        bookingService.checkAvailability(AvailabilityRequest.builder().date(workingDay(1 + i % DAYS)).build());
+                        peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return peak.get();
+    }
+
+    private void seedBookings(List<Long> cleanerIds) {
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+        long id = 1_000_000L;
+        for (int day = 1; day <= DAYS; day++) {
+            for (Long cleanerId : cleanerIds) {
+                for (int slot = 0; slot < 5; slot++) {
+                    LocalDateTime start = workingDay(day).atTime(8, 0).plusMinutes(slot * 150L);
+                    bookings.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), 2, "DXB", "Benchmark"});
+                    links.add(new Object[]{id, cleanerId});
+                    id++;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO booking (id, start_date_time, end_date_time, duration_hours, zone, status, customer_name) " +
+                "VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO booking_cleaner (booking_id, cleaner_id) VALUES (?, ?)", links);
+    }
+
+    private static LocalDate workingDay(int offset) {
+        LocalDate date = LocalDate.now().plusDays(offset);
+        return date.getDayOfWeek() == DayOfWeek.FRIDAY ? date.plusDays(1) : date;
+    }
+}
@@ -0,0 +1,80 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.BookingRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replica")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void readOnlyRequests_ShouldUseReplica_UnlessSameClientJustWrote() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(3);
+        if (date.getDayOfWeek() == DayOfWeek.FRIDAY) {
+            date = date.plusDays(1);
+        }
+        AvailabilityRequest availability = AvailabilityRequest.builder().date(date).build();
+
+        double replicaBefore = routed("replica");
+        mockMvc.perform(post("/api/bookings/availability")
+                        .header("X-Client-Id", "dashboard")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availability)))
+                .andExpect(status().isOk());
+        assertThat(routed("replica")).isGreaterThan(replicaBefore);
+
+        BookingRequest booking = BookingRequest.builder()
+                .date(date)
+                .startTime(LocalTime.of(10, 0))
+                .duration(2)
+                .cleanerCount(1)
+                .customerName("Replica Test")
+                .build();
+        mockMvc.perform(post("/api/bookings")
+                        .header("X-Client-Id", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated());
+
+        double replicaAfterWrite = routed("replica");
+        double primaryAfterWrite = routed("primary");
+        mockMvc.perform(post("/api/bookings/availability")
+                        .header("X-Client-Id", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(availability)))
+                .andExpect(status().isOk());
+        assertThat(routed("replica")).isEqualTo(replicaAfterWrite);
+        assertThat(routed("primary")).isGreaterThan(primaryAfterWrite);
+    }
+
+    private double routed(String target) {
+        return meterRegistry.counter("cleaning.datasource.routed", "target", target).count();
+    }
+}
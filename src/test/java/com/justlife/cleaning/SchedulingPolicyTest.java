@@ -0,0 +1,99 @@
+package com.justlife.cleaning;
+
+import com.justlife.cleaning.config.CleaningProperties;
+import com.justlife.cleaning.exception.BusinessException;
+import com.justlife.cleaning.service.DayPolicy;
+import com.justlife.cleaning.service.SchedulingPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingPolicyTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().plusDays(7).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Test
+    void day_ShouldOfferDefaultSlots_OnRegularDay() {
+        DayPolicy day = new SchedulingPolicy(new CleaningProperties()).day("DXB", MONDAY);
+
+        assertTrue(day.isOpen());
+        assertEquals(28, day.cellCount());
+        assertEquals("08:00 (2h)", day.slots().get(0).label());
+        assertEquals("08:00 (4h)", day.slots().get(1).label());
+        assertEquals("20:00 (2h)", day.slots().get(day.slots().size() - 1).label());
+        assertTrue(day.fits(LocalTime.of(18, 0), 4));
+        assertFalse(day.fits(LocalTime.of(18, 30), 4));
+        assertFalse(day.fits(LocalTime.of(10, 0), 3));
+    }
+
+    @Test
+    void validate_ShouldKeepRequestMessages() {
+        SchedulingPolicy policy = new SchedulingPolicy(new CleaningProperties());
+        LocalDate friday = MONDAY.with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+
+        assertEquals("We do not work on Fridays.", assertThrows(BusinessException.class,
+                () -> policy.validate("DXB", friday, LocalTime.of(10, 0), 2)).getMessage());
+        assertEquals("Cannot start before 08:00", assertThrows(BusinessException.class,
+                () -> policy.validate("DXB", MONDAY, LocalTime.of(7, 30), 2)).getMessage());
+        assertEquals("Must finish before 22:00", assertThrows(BusinessException.class,
+                () -> policy.validate("DXB", MONDAY, LocalTime.of(21, 0), 2)).getMessage());
+        assertEquals("Duration must be 2 or 4 hours.", assertThrows(BusinessException.class,
+                () -> policy.validate("DXB", MONDAY, LocalTime.of(10, 0), 3)).getMessage());
+    }
+
+    @Test
+    void day_ShouldApplyZoneHoursAndDateRules() {
+        CleaningProperties properties = new CleaningProperties();
+        CleaningProperties.Schedule.Hours auhHours = new CleaningProperties.Schedule.Hours();
+        auhHours.setStart(LocalTime.of(9, 0));
+        auhHours.setEnd(LocalTime.of(21, 0));
+        properties.getSchedule().getZoneHours().put("auh", auhHours);
+
+        CleaningProperties.Schedule.DateRule holiday = new CleaningProperties.Schedule.DateRule();
+        holiday.setFrom(MONDAY);
+        holiday.setClosed(true);
+        holiday.setReason("National Day");
+        CleaningProperties.Schedule.DateRule ramadan = new CleaningProperties.Schedule.DateRule();
+        ramadan.setFrom(MONDAY.plusDays(1));
+        ramadan.setTo(MONDAY.plusDays(3));
+        ramadan.setStart(LocalTime.of(10, 0));
+        ramadan.setEnd(LocalTime.of(16, 0));
+        ramadan.setDurations(List.of(2));
+        properties.getSchedule().getDateRules().addAll(List.of(holiday, ramadan));
+
+        SchedulingPolicy policy = new SchedulingPolicy(properties);
+
+        assertEquals(LocalTime.of(9, 0), policy.day("AUH", MONDAY.plusDays(7)).workStart());
+        assertEquals(LocalTime.of(8, 0), policy.day("DXB", MONDAY.plusDays(7)).workStart());
+
+        DayPolicy holidayDay = policy.day("DXB", MONDAY);
+        assertFalse(holidayDay.isOpen());
+        assertTrue(holidayDay.slots().isEmpty());
+        assertEquals("We do not work on " + MONDAY + " (National Day).", assertThrows(BusinessException.class,
+                () -> holidayDay.validate(LocalTime.of(10, 0), 2)).getMessage());
+
+        DayPolicy ramadanDay = policy.day("AUH", MONDAY.plusDays(2));
+        assertEquals(List.of(2), ramadanDay.durations());
+        assertEquals("10:00 (2h)", ramadanDay.slots().get(0).label());
+        assertEquals("14:00 (2h)", ramadanDay.slots().get(ramadanDay.slots().size() - 1).label());
+        assertEquals("Duration must be 2 hours.", assertThrows(BusinessException.class,
+                () -> ramadanDay.validate(LocalTime.of(10, 0), 4)).getMessage());
+    }
+
+    @Test
+    void day_ShouldCompileOnUse_OutsideTheCompiledDays() {
+        CleaningProperties properties = new CleaningProperties();
+        properties.getSchedule().setCompiledDays(1);
+        SchedulingPolicy policy = new SchedulingPolicy(properties);
+
+        assertEquals(new SchedulingPolicy(new CleaningProperties()).day("DXB", MONDAY).slots(),
+                policy.day("DXB", MONDAY).slots());
+        assertTrue(policy.day("DXB", LocalDate.of(2023, 11, 23)).isOpen());
+    }
+}
@@ -0,0 +1,114 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.BookingRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Latency of both booking endpoints with the second-level cache enabled and disabled,
+ * each against its own in-memory database.
+ */
+@Tag("benchmark")
+abstract class SecondLevelCacheBenchmark {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    abstract String mode();
+
+    @Test
+    void bookingEndpointLatency() throws Exception {
+        LatencyRecorder availability = new LatencyRecorder(MEASURED_REQUESTS);
+        LatencyRecorder create = new LatencyRecorder(MEASURED_REQUESTS);
+
+        LocalDate date = LocalDate.now();
+        for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+            date = nextWorkingDay(date);
+            String body = objectMapper.writeValueAsString(AvailabilityRequest.builder().date(date).build());
+            long began = System.nanoTime();
+            mockMvc.perform(post("/api/bookings/availability")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk());
+            if (i >= WARMUP_REQUESTS) {
+                availability.record(System.nanoTime() - began);
+            }
+        }
+
+        for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+            date = nextWorkingDay(date);
+            String body = objectMapper.writeValueAsString(BookingRequest.builder()
+                    .date(date)
+                    .startTime(LocalTime.of(10, 0))
+                    .duration(2)
+                    .cleanerCount(2)
+                    .customerName("Benchmark")
+                    .build());
+            long began = System.nanoTime();
+            mockMvc.perform(post("/api/bookings")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated());
+            if (i >= WARMUP_REQUESTS) {
+                create.record(System.nanoTime() - began);
+            }
+        }
+
+        LatencyRecorder.writeReport("second-level-cache-" + mode() + ".csv", List.of(
+                "endpoint,mode,p50Micros,p99Micros",
+                "availability," + mode() + "," + availability.percentileMicros(50) + "," + availability.percentileMicros(99),
+                "create," + mode() + "," + create.percentileMicros(50) + "," + create.percentileMicros(99)));
+    }
+
+    private static LocalDate nextWorkingDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        return next.getDayOfWeek() == DayOfWeek.FRIDAY ? next.plusDays(1) : next;
+    }
+
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark-l2-on;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "spring.jpa.show-sql=false"
+    })
+    @AutoConfigureMockMvc
+    static class WithCache extends SecondLevelCacheBenchmark {
+        @Override
+        String mode() {
+            return "cached";
+        }
+    }
+
+    @SpringBootTest(properties = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark-l2-off;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+    })
+    @AutoConfigureMockMvc
+    static class WithoutCache extends SecondLevelCacheBenchmark {
+        @Override
+        String mode() {
+            return "uncached";
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.BookingRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A zero threshold makes every request slow, so each one must produce its profile line
+@SpringBootTest(properties = "cleaning.slow-request-log.threshold=0ms")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SlowRequestLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void slowRequest_ShouldLogOneProfileLine(CapturedOutput output) throws Exception {
+        mockMvc.perform(post("/api/bookings/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AvailabilityRequest.builder()
+                                .date(LocalDate.of(2098, 1, 6))
+                                .build())))
+                .andExpect(status().isOk());
+
+        String line = output.getOut().lines()
+                .filter(candidate -> candidate.contains("endpoint=\"POST /api/bookings/availability\""))
+                .findFirst()
+                .orElseThrow();
+        assertThat(line)
+                .contains("body=\"{'date':'2098-01-06'")
+                .contains("status=200")
+                .containsPattern("statements=[1-9]")
+                .containsPattern("allocatedBytes=[1-9]");
+    }
+
+    @Test
+    void slowRequest_ShouldKeepCustomerDataOutOfTheLog(CapturedOutput output) throws Exception {
+        // A Friday, so the booking is rejected before anything is stored
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BookingRequest.builder()
+                                .date(LocalDate.of(2098, 1, 10))
+                                .startTime(LocalTime.of(10, 0))
+                                .duration(2)
+                                .cleanerCount(1)
+                                .customerName("Jane Private")
+                                .build())))
+                .andExpect(status().isBadRequest());
+
+        String line = output.getOut().lines()
+                .filter(candidate -> candidate.contains("endpoint=\"POST /api/bookings\""))
+                .findFirst()
+                .orElseThrow();
+        assertThat(line)
+                .contains("'date':'2098-01-10'")
+                .contains("'cleanerCount':1")
+                .doesNotContain("customerName")
+                .doesNotContain("Jane Private");
+    }
+}
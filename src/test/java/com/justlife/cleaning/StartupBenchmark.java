@@ -0,0 +1,113 @@
+package com.justlife.cleaning;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time from process launch to the first answered availability request, for the extracted
+ * boot jar with and without the AOT initializers and the CDS archive. Needs
+ * {@code ./gradlew cdsArchive} to have run first.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final Path CDS_DIR = Path.of(System.getProperty("benchmark.cdsDir", "build/cds"));
+    private static final int RUNS = Integer.getInteger("benchmark.startupRuns", 5);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        Assumptions.assumeTrue(Files.exists(CDS_DIR.resolve("application.jsa")),
+                "No CDS archive in " + CDS_DIR + ", run ./gradlew cdsArchive first");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("baseline", List.of());
+        modes.put("aot", List.of("-Dspring.aot.enabled=true"));
+        modes.put("cds", List.of("-XX:SharedArchiveFile=application.jsa"));
+        modes.put("aot-cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"));
+
+        List<String> report = new ArrayList<>();
+        report.add("mode,runs,minMillis,medianMillis,maxMillis");
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                long[] millis = new long[RUNS];
+                for (int run = 0; run < RUNS; run++) {
+                    millis[run] = launchUntilFirstResponse(client, mode.getKey(), mode.getValue());
+                }
+                Arrays.sort(millis);
+                report.add(mode.getKey() + "," + RUNS + "," + millis[0] + "," + millis[RUNS / 2] + "," + millis[RUNS - 1]);
+            }
+        }
+        LatencyRecorder.writeReport("startup.csv", report);
+    }
+
+    private long launchUntilFirstResponse(HttpClient client, String mode, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", "application.jar", "--spring.profiles.active=prod", "--server.port=" + port));
+
+        Path log = Path.of("build", "benchmarks", "startup-" + mode + ".log");
+        Files.createDirectories(log.getParent());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/availability"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"date\":\"" + nextWorkingDay(LocalDate.now()) + "\"}"))
+                .build();
+
+        long began = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(CDS_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - began < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - began) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static LocalDate nextWorkingDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        return next.getDayOfWeek() == DayOfWeek.FRIDAY ? next.plusDays(1) : next;
+    }
+}
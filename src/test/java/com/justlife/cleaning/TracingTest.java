@@ -0,0 +1,81 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.justlife.cleaning.config.InMemorySpanExporter;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "cleaning.tracing.exporter=memory")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void availabilityRequest_ShouldProduceNestedPhaseSpans() throws Exception {
+        spanExporter.reset();
+
+        mockMvc.perform(post("/api/bookings/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(AvailabilityRequest.builder()
+                                .date(LocalDate.of(2098, 1, 6))
+                                .build())))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        List<SpanData> spans = spanExporter.getFinishedSpans();
+        Map<String, SpanData> byName = spans.stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+        SpanData request = byName.get("http post /api/bookings/availability");
+        SpanData load = byName.get("booking.schedules.load");
+        SpanData freeSlots = byName.get("availability.free-slots");
+        SpanData rosterQuery = byName.get("CleanerRepository.findRosterByZone");
+        SpanData bookingQuery = byName.get("BookingRepository.findActiveBookingsForCleaners");
+
+        assertThat(request).isNotNull();
+        assertThat(List.of(load, freeSlots, rosterQuery)).allSatisfy(span ->
+                assertThat(span.getParentSpanId()).isEqualTo(request.getSpanId()));
+        assertThat(bookingQuery.getParentSpanId()).isEqualTo(load.getSpanId());
+        assertThat(attribute(load, "fleet.size")).isEqualTo("25");
+        assertThat(attribute(load, "booking.count")).isEqualTo("0");
+        assertThat(attribute(freeSlots, "outcome")).isEqualTo("available");
+    }
+
+    private static String attribute(SpanData span, String key) {
+        return span.getAttributes().asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().getKey().equals(key))
+                .map(entry -> String.valueOf(entry.getValue()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,322 @@
+package com.justlife.cleaning;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.justlife.cleaning.dto.AvailabilityRequest;
+import com.justlife.cleaning.dto.BookingImportReport;
+import com.justlife.cleaning.dto.BookingRequest;
+import com.justlife.cleaning.dto.BookingUpdateRequest;
+import com.justlife.cleaning.entity.Booking;
+import com.justlife.cleaning.repository.BookingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a production-shaped mix of availability, create and update requests against the
+ * locally started application, over a generated dataset. Request streams are seeded per worker,
+ * dates are skewed towards the first few days like real demand. The first day is the Monday on or
+ * after {@code -Dbenchmark.startDate}, not today, so weekdays and skew are the same on every run,
+ * and each worker picks update targets from its own pool (the dataset plus its own creates) so they
+ * do not depend on how the workers interleave.
+ * <p>
+ * The result is written as JSON; it is compared with the baseline in
+ * {@code -Dbenchmark.baseline} when that file exists, and replaces it with
+ * {@code -Dbenchmark.updateBaseline=true}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TrafficMixBenchmark {
+
+    enum Operation { AVAILABILITY, CREATE, UPDATE }
+
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final String MIX = System.getProperty("benchmark.mix", "availability:80,create:15,update:5");
+    private static final int WORKERS = Integer.getInteger("benchmark.workers", 32);
+    private static final int REQUESTS_PER_WORKER = Integer.getInteger("benchmark.requestsPerWorker", 500);
+    private static final int WARMUP_REQUESTS_PER_WORKER = Integer.getInteger("benchmark.warmupRequestsPerWorker", 50);
+    private static final int DATASET_BOOKINGS = Integer.getInteger("benchmark.datasetBookings", 3_000);
+    private static final int HORIZON_DAYS = Integer.getInteger("benchmark.horizonDays", 60);
+    private static final LocalDate START_DATE = LocalDate.parse(System.getProperty("benchmark.startDate", "2030-01-01"));
+    private static final Path BASELINE = Path.of(System.getProperty("benchmark.baseline",
+            "src/test/resources/benchmarks/traffic-mix-baseline.json"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("benchmark.updateBaseline");
+    // Allowed relative regression of p99 latency and throughput against the baseline
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.25"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void trafficMix() throws Exception {
+        Map<Operation, Integer> mix = parseMix(MIX);
+        LocalDate firstDay = START_DATE.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            BookingImportReport dataset = importDataset(client, firstDay);
+            List<Long> datasetIds = bookingRepository.findAll(Sort.by("id")).stream().map(Booking::getId).toList();
+
+            run(client, mix, firstDay, datasetIds, WARMUP_REQUESTS_PER_WORKER, SEED - 1);
+            long began = System.nanoTime();
+            List<WorkerResult> results = run(client, mix, firstDay, datasetIds, REQUESTS_PER_WORKER, SEED);
+            long elapsed = System.nanoTime() - began;
+
+            ObjectNode report = report(mix, dataset, results, elapsed);
+            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            LatencyRecorder.writeReport("traffic-mix.json", List.of(json));
+
+            if (UPDATE_BASELINE) {
+                Files.createDirectories(BASELINE.toAbsolutePath().getParent());
+                Files.writeString(BASELINE, json);
+            } else if (Files.exists(BASELINE)) {
+                assertNoRegression(objectMapper.readTree(BASELINE.toFile()), report);
+            }
+        }
+    }
+
+    private BookingImportReport importDataset(HttpClient client, LocalDate firstDay) throws Exception {
+        Random random = new Random(SEED);
+        StringBuilder csv = new StringBuilder("date,startTime,duration,customerName,cleanerCount\n");
+        for (int i = 0; i < DATASET_BOOKINGS; i++) {
+            csv.append(skewedDate(random, firstDay)).append(',')
+                    .append(startTime(random)).append(',')
+                    .append(duration(random)).append(',')
+                    .append("Customer ").append(i).append(',')
+                    .append(1 + random.nextInt(3)).append('\n');
+        }
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/bookings/import"))
+                        .header("Content-Type", "text/csv")
+                        .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readValue(response.body(), BookingImportReport.class);
+    }
+
+    private List<WorkerResult> run(HttpClient client, Map<Operation, Integer> mix, LocalDate firstDay,
+                                   List<Long> datasetIds, int requestsPerWorker, long seed) throws Exception {
+        List<Future<WorkerResult>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < WORKERS; w++) {
+                Random random = new Random(seed * 31 + w);
+                List<Long> bookingIds = new ArrayList<>(datasetIds);
+                workers.add(executor.submit(() -> {
+                    WorkerResult result = new WorkerResult(requestsPerWorker);
+                    for (int i = 0; i < requestsPerWorker; i++) {
+                        Operation operation = pick(mix, random);
+                        HttpRequest request = request(operation, random, firstDay, bookingIds);
+                        long began = System.nanoTime();
+                        int status;
+                        String body = null;
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            status = response.statusCode();
+                            body = response.body();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        result.record(operation, System.nanoTime() - began, status);
+                        if (operation == Operation.CREATE && status == 201) {
+                            bookingIds.add(objectMapper.readTree(body).get("id").asLong());
+                        }
+                    }
+                    return result;
+                }));
+            }
+        }
+        List<WorkerResult> results = new ArrayList<>();
+        for (Future<WorkerResult> worker : workers) {
+            results.add(worker.get());
+        }
+        return results;
+    }
+
+    private HttpRequest request(Operation operation, Random random, LocalDate firstDay,
+                                List<Long> bookingIds) throws IOException {
+        LocalDate date = skewedDate(random, firstDay);
+        return switch (operation) {
+            case AVAILABILITY -> json(HttpRequest.newBuilder(uri("/api/bookings/availability")), "POST",
+                    AvailabilityRequest.builder().date(date).build());
+            case CREATE -> json(HttpRequest.newBuilder(uri("/api/bookings")), "POST", BookingRequest.builder()
+                    .date(date)
+                    .startTime(startTime(random))
+                    .duration(duration(random))
+                    .cleanerCount(1 + random.nextInt(3))
+                    .customerName("Load test")
+                    .build());
+            case UPDATE -> json(HttpRequest.newBuilder(uri("/api/bookings/" + bookingIds.get(random.nextInt(bookingIds.size())))), "PUT",
+                    BookingUpdateRequest.builder()
+                            .date(date)
+                            .startTime(LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(13)))
+                            .allowReassignment(random.nextBoolean())
+                            .build());
+        };
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) throws IOException {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // Exponentially skewed: a quarter of the horizon ahead on average, Fridays move to Saturday
+    private static LocalDate skewedDate(Random random, LocalDate firstDay) {
+        int offset = (int) Math.min(HORIZON_DAYS - 1, -Math.log(1 - random.nextDouble()) * HORIZON_DAYS / 4);
+        LocalDate date = firstDay.plusDays(offset);
+        return date.getDayOfWeek() == DayOfWeek.FRIDAY ? date.plusDays(1) : date;
+    }
+
+    // Half-hour starts that let a 4 hour booking end by 22:00
+    private static LocalTime startTime(Random random) {
+        return LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(21));
+    }
+
+    private static int duration(Random random) {
+        return random.nextBoolean() ? 2 : 4;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split(":");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private ObjectNode report(Map<Operation, Integer> mix, BookingImportReport dataset, List<WorkerResult> results,
+                              long elapsedNanos) {
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode config = report.putObject("config");
+        config.put("mix", MIX);
+        config.put("seed", SEED);
+        config.put("workers", WORKERS);
+        config.put("requestsPerWorker", REQUESTS_PER_WORKER);
+        config.put("datasetBookings", dataset.getImportedRows());
+        config.put("horizonDays", HORIZON_DAYS);
+        config.put("startDate", START_DATE.toString());
+
+        int requests = WORKERS * REQUESTS_PER_WORKER;
+        report.put("requests", requests);
+        report.put("throughputPerSec", Math.round(requests / (elapsedNanos / 1e9)));
+
+        ObjectNode operations = report.putObject("operations");
+        for (Operation operation : mix.keySet()) {
+            LatencyRecorder latency = new LatencyRecorder(requests);
+            long count = 0;
+            long errors = 0;
+            long conflicts = 0;
+            for (WorkerResult result : results) {
+                for (int i = 0; i < result.size; i++) {
+                    if (result.operations[i] != operation) {
+                        continue;
+                    }
+                    count++;
+                    latency.record(result.latencies[i]);
+                    int status = result.statuses[i];
+                    // Create and update answer 400 when no team fits: a conflict, not a failure
+                    if (status == 400 && operation != Operation.AVAILABILITY) {
+                        conflicts++;
+                    } else if (status < 200 || status >= 300) {
+                        errors++;
+                    }
+                }
+            }
+            ObjectNode node = operations.putObject(operation.name().toLowerCase(Locale.ROOT));
+            node.put("requests", count);
+            node.put("p50Micros", count > 0 ? latency.percentileMicros(50) : 0);
+            node.put("p95Micros", count > 0 ? latency.percentileMicros(95) : 0);
+            node.put("p99Micros", count > 0 ? latency.percentileMicros(99) : 0);
+            node.put("errorRate", count > 0 ? (double) errors / count : 0);
+            node.put("conflictRate", count > 0 ? (double) conflicts / count : 0);
+        }
+        return report;
+    }
+
+    private static void assertNoRegression(JsonNode baseline, JsonNode current) {
+        assertThat(current.get("throughputPerSec").asDouble())
+                .as("throughput against baseline")
+                .isGreaterThanOrEqualTo(baseline.get("throughputPerSec").asDouble() * (1 - TOLERANCE));
+        baseline.get("operations").fields().forEachRemaining(entry -> {
+            JsonNode operation = current.get("operations").get(entry.getKey());
+            assertThat(operation).as("operation " + entry.getKey()).isNotNull();
+            assertThat(operation.get("p99Micros").asDouble())
+                    .as(entry.getKey() + " p99 against baseline")
+                    .isLessThanOrEqualTo(entry.getValue().get("p99Micros").asDouble() * (1 + TOLERANCE));
+            assertThat(operation.get("errorRate").asDouble())
+                    .as(entry.getKey() + " error rate against baseline")
+                    .isLessThanOrEqualTo(entry.getValue().get("errorRate").asDouble() + 0.001);
+        });
+    }
+
+    private static final class WorkerResult {
+        private final Operation[] operations;
+        private final long[] latencies;
+        private final int[] statuses;
+        private int size;
+
+        private WorkerResult(int capacity) {
+            this.operations = new Operation[capacity];
+            this.latencies = new long[capacity];
+            this.statuses = new int[capacity];
+        }
+
+        private void record(Operation operation, long latencyNanos, int status) {
+            operations[size] = operation;
+            latencies[size] = latencyNanos;
+            statuses[size] = status;
+            size++;
+        }
+    }
+}
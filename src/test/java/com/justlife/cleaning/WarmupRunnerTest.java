@@ -0,0 +1,32 @@
+package com.justlife.cleaning;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "cleaning.warmup.enabled=true",
+        "cleaning.warmup.iterations=20"
+})
+class WarmupRunnerTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void warmup_ShouldFinishBeforeReadiness_AndRecordItsDuration() {
+        Timer warmup = meterRegistry.get("cleaning.warmup").timer();
+
+        assertThat(warmup.count()).isEqualTo(1);
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}